@@ -11,6 +11,16 @@ java {
 group = "org.tommy.caseapi"
 version = "1.1.1"
 
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
 tasks {
     compileJava {
         options.encoding = "UTF-8"
@@ -21,4 +31,7 @@ tasks {
     javadoc {
         options.encoding = "UTF-8"
     }
+    test {
+        useJUnitPlatform()
+    }
 }
\ No newline at end of file
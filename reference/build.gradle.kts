@@ -0,0 +1,35 @@
+plugins {
+    id("java")
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+group = "org.tommy.caseapi"
+version = "1.1.1"
+
+dependencies {
+    implementation(rootProject)
+}
+
+tasks {
+    compileJava {
+        options.encoding = "UTF-8"
+    }
+    compileTestJava {
+        options.encoding = "UTF-8"
+    }
+    javadoc {
+        options.encoding = "UTF-8"
+    }
+    register<JavaExec>("stressTest") {
+        group = "verification"
+        description = "Runs the concurrency stress harness against the in-memory CaseAPI."
+        mainClass.set("org.tommy.caseapi.reference.StressHarness")
+        classpath = sourceSets["main"].runtimeClasspath
+        args = (project.findProperty("stressArgs") as String?)?.split(" ") ?: emptyList()
+    }
+}
\ No newline at end of file
@@ -0,0 +1,427 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.reference;
+
+import org.tommy.caseapi.CaseAPI;
+import org.tommy.caseapi.admission.AdmissionController;
+import org.tommy.caseapi.admission.AdmissionRejectedException;
+import org.tommy.caseapi.counters.CounterBackend;
+import org.tommy.caseapi.counters.CounterKeys;
+import org.tommy.caseapi.counters.InMemoryCounterBackend;
+import org.tommy.caseapi.counters.LeasedDrawCounter;
+import org.tommy.caseapi.events.CaseOpenCompleteEvent;
+import org.tommy.caseapi.events.CaseOpenEvent;
+import org.tommy.caseapi.events.CaseOpenFailureReason;
+import org.tommy.caseapi.events.CaseOpenVetoPolicy;
+import org.tommy.caseapi.events.CaseOpeningEventListener;
+import org.tommy.caseapi.events.CaseRewardAnnounceEvent;
+import org.tommy.caseapi.events.FailedCaseOpenEvent;
+import org.tommy.caseapi.export.PlayerStatistics;
+import org.tommy.caseapi.export.PlayerStatisticsPage;
+import org.tommy.caseapi.export.PlayerStatisticsSource;
+import org.tommy.caseapi.intern.PlayerCaseTable;
+import org.tommy.caseapi.models.Case;
+import org.tommy.caseapi.models.CaseReward;
+import org.tommy.caseapi.models.CaseRewardType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Thread-safe, in-memory implementation of {@link CaseAPI} for testing plugins without the CaseOpening plugin.
+ * Cases are registered through {@link #registerCase(Case, List)}. Limited rewards are drawn through a
+ * {@link CounterBackend}, so several instances sharing one backend behave like the servers of a network.
+ * Gems rewards are added to the jewelry of the player, all other rewards are only reported through events.
+ * Listeners are called on the thread that opens the case, or on the thread that completes the last asynchronous veto.
+ * Opens pass the synchronous {@link CaseOpenEvent} first and then run through an {@link AdmissionController},
+ * opens rejected by it fail with {@link CaseOpenFailureReason#OVERLOADED}.
+ */
+public class InMemoryCaseAPI implements CaseAPI, PlayerStatisticsSource {
+
+    private static final int DRAW_BLOCK_SIZE = 4;
+    private static final Duration EXHAUSTION_RECHECK = Duration.ofSeconds(5);
+
+    private final CounterBackend counterBackend;
+    private final CaseOpenVetoPolicy vetoPolicy;
+    private final AdmissionController admissionController;
+    private final Map<String, RegisteredCase> cases = new ConcurrentHashMap<>();
+    private final PlayerCaseTable playerTable = new PlayerCaseTable();
+    private final AtomicInteger totalCasesOpened = new AtomicInteger();
+    private final List<CaseOpeningEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new {@code InMemoryCaseAPI} with its own counter backend,
+     * which allows an open if a listener does not answer its asynchronous veto within one second.
+     */
+    public InMemoryCaseAPI() {
+        this(new InMemoryCounterBackend(), new CaseOpenVetoPolicy(Duration.ofSeconds(1), false));
+    }
+
+    /**
+     * Constructs a new {@code InMemoryCaseAPI} that admits between 8 and 1024 concurrent opens
+     * and queues up to 1024 further opens for at most one second.
+     *
+     * @param counterBackend The backend holding the remaining draws of limited rewards.
+     * @param vetoPolicy The policy used to combine the asynchronous vetoes of the listeners.
+     */
+    public InMemoryCaseAPI(CounterBackend counterBackend, CaseOpenVetoPolicy vetoPolicy) {
+        this(counterBackend, vetoPolicy, new AdmissionController(64, 8, 1024, 1024, Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Constructs a new {@code InMemoryCaseAPI}.
+     *
+     * @param counterBackend The backend holding the remaining draws of limited rewards.
+     * @param vetoPolicy The policy used to combine the asynchronous vetoes of the listeners.
+     * @param admissionController The controller limiting the number of concurrent opens.
+     */
+    public InMemoryCaseAPI(CounterBackend counterBackend, CaseOpenVetoPolicy vetoPolicy, AdmissionController admissionController) {
+        this.counterBackend = counterBackend;
+        this.vetoPolicy = vetoPolicy;
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * Registers a case and its rewards, replacing a previously registered case with the same ID.
+     * The rewards are indexed in the given order. The draw counters of limited rewards are initialized
+     * in the counter backend if no other instance initialized them before.
+     *
+     * @param crate The case to register.
+     * @param rewards The rewards of the case.
+     */
+    public void registerCase(Case crate, List<? extends CaseReward> rewards) {
+        List<CaseReward> indexedRewards = new ArrayList<>(rewards.size());
+        Map<CaseReward, LeasedDrawCounter> drawCounters = new HashMap<>();
+        for (int i = 0; i < rewards.size(); i++) {
+            CaseReward caseReward = rewards.get(i).setIndex(i);
+            indexedRewards.add(caseReward);
+            if (!caseReward.isLimited()) continue;
+
+            String key = CounterKeys.rewardDraws(crate, caseReward);
+            counterBackend.initializeDraws(key, caseReward.getMaxDraws()).join();
+            drawCounters.put(caseReward, new LeasedDrawCounter(counterBackend, key, DRAW_BLOCK_SIZE, EXHAUSTION_RECHECK));
+        }
+        cases.put(crate.getCaseId(), new RegisteredCase(crate, indexedRewards, drawCounters));
+    }
+
+    /**
+     * Gets the rewards of a registered case.
+     *
+     * @param caseId The ID of the case.
+     * @return The rewards of the case in index order, or an empty list if the case does not exist.
+     */
+    public List<CaseReward> getRewards(String caseId) {
+        RegisteredCase registered = cases.get(caseId);
+        return registered == null ? List.of() : registered.rewards;
+    }
+
+    /**
+     * Returns the leased but unused draws of all limited rewards to the counter backend.
+     * Should be called before the instance is discarded, otherwise these draws are lost for other instances.
+     *
+     * @return A {@link CompletableFuture} that completes once all draws are returned.
+     */
+    public CompletableFuture<Void> releaseDrawLeases() {
+        List<CompletableFuture<Void>> releases = new ArrayList<>();
+        for (RegisteredCase registered : cases.values()) {
+            for (LeasedDrawCounter counter : registered.drawCounters.values()) releases.add(counter.releaseLease());
+        }
+        return CompletableFuture.allOf(releases.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> caseExists(String caseId) {
+        return CompletableFuture.completedFuture(cases.containsKey(caseId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> openCaseWithRemove(UUID playerUuid, String caseId) {
+        return openCase(playerUuid, caseId, true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> openCaseWithoutRemove(UUID playerUuid, String caseId) {
+        return openCase(playerUuid, caseId, false);
+    }
+
+    /**
+     * Does nothing, as there is no inventory to show the preview in.
+     *
+     * @param playerUuid The UUID of the player who should see the preview.
+     * @param caseId The ID of the case to preview.
+     */
+    @Override
+    public void openCasePreview(UUID playerUuid, String caseId) {
+    }
+
+    @Override
+    public void setJewelry(UUID playerUuid, int amount) {
+        checkAmount(amount);
+        playerTable.updateJewelry(playerUuid, current -> amount);
+    }
+
+    /**
+     * Adds a specific amount of jewelry to the given player. The balance saturates at {@link Integer#MAX_VALUE}.
+     *
+     * @param playerUuid The uuid of the player receiving the jewelry.
+     * @param amount The amount of jewelry to add.
+     */
+    @Override
+    public void addJewelry(UUID playerUuid, int amount) {
+        checkAmount(amount);
+        playerTable.updateJewelry(playerUuid, current -> saturatedAdd(current, amount));
+    }
+
+    /**
+     * Removes a specific amount of jewelry from the given player. The balance does not drop below zero.
+     * Unknown players are left unknown.
+     *
+     * @param playerUuid The uuid of the player whose jewelry will be removed.
+     * @param amount The amount of jewelry to remove.
+     */
+    @Override
+    public void removeJewelry(UUID playerUuid, int amount) {
+        checkAmount(amount);
+        playerTable.updateJewelryIfPresent(playerUuid, current -> Math.max(0, current - amount));
+    }
+
+    @Override
+    public void setCases(UUID playerUuid, String caseId, int amount) {
+        checkAmount(amount);
+        playerTable.updateCases(playerUuid, caseId, current -> amount);
+    }
+
+    /**
+     * Adds a specified number of cases to a player. The amount saturates at {@link Integer#MAX_VALUE}.
+     *
+     * @param playerUuid The uuid of the player receiving the cases.
+     * @param caseId The ID of the case to add.
+     * @param amount The number of cases to add.
+     */
+    @Override
+    public void addCases(UUID playerUuid, String caseId, int amount) {
+        checkAmount(amount);
+        playerTable.updateCases(playerUuid, caseId, current -> saturatedAdd(current, amount));
+    }
+
+    /**
+     * Removes a specified number of cases from a player. The amount does not drop below zero.
+     * Unknown players and cases are left unknown.
+     *
+     * @param playerUuid The uuid of the player losing the cases.
+     * @param caseId The ID of the case to remove.
+     * @param amount The number of cases to remove.
+     */
+    @Override
+    public void removeCases(UUID playerUuid, String caseId, int amount) {
+        checkAmount(amount);
+        playerTable.updateCasesIfPresent(playerUuid, caseId, current -> Math.max(0, current - amount));
+    }
+
+    @Override
+    public CompletableFuture<Integer> getJewelry(UUID playerUuid) {
+        return CompletableFuture.completedFuture(playerTable.getJewelry(playerUuid));
+    }
+
+    @Override
+    public CompletableFuture<Integer> getPlayerCases(UUID playerUuid, String caseId) {
+        return CompletableFuture.completedFuture(playerTable.getCases(playerUuid, caseId));
+    }
+
+    @Override
+    public CompletableFuture<Integer> getTotalCasesOpened() {
+        return CompletableFuture.completedFuture(totalCasesOpened.get());
+    }
+
+    @Override
+    public CompletableFuture<Integer> getTotalCasesOpenedByPlayer(UUID playerUuid) {
+        return CompletableFuture.completedFuture(playerTable.getCasesOpened(playerUuid));
+    }
+
+    /**
+     * Gets the statistics of up to {@code limit} players in slot order, the cursor is the next slot to look at. Players are known once
+     * their jewelry or cases were set or added or they opened a case, and stay known even if all their values drop to zero.
+     * The values of each player are read individually and are not a consistent snapshot across the page.
+     *
+     * @param cursor The cursor returned by the previous page, or {@link #FIRST_PAGE} to start with the first player.
+     * @param limit The maximum number of players to return, must be positive.
+     * @return A completed {@link CompletableFuture} with the page of statistics.
+     */
+    @Override
+    public CompletableFuture<PlayerStatisticsPage> getPlayerStatistics(long cursor, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("The limit must be positive");
+        if (cursor < 0 || cursor > Integer.MAX_VALUE) throw new IllegalArgumentException("Invalid cursor " + cursor);
+
+        List<UUID> players = new ArrayList<>(Math.min(limit, 1024));
+        int nextSlot = playerTable.collectPlayers((int) cursor, limit, players);
+        List<PlayerStatistics> statistics = new ArrayList<>(players.size());
+        for (UUID playerUuid : players) {
+            statistics.add(new PlayerStatistics(playerUuid, playerTable.getJewelry(playerUuid),
+                    playerTable.getCases(playerUuid), playerTable.getCasesOpened(playerUuid)));
+        }
+        return CompletableFuture.completedFuture(new PlayerStatisticsPage(statistics, nextSlot));
+    }
+
+    @Override
+    public void registerListener(CaseOpeningEventListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void unregisterListener(CaseOpeningEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    private CompletableFuture<Boolean> openCase(UUID playerUuid, String caseId, boolean remove) {
+        List<CaseOpeningEventListener> currentListeners = List.copyOf(listeners);
+        RegisteredCase registered = cases.get(caseId);
+        if (registered == null) return fail(currentListeners, playerUuid, null, CaseOpenFailureReason.CASE_NOT_FOUND);
+
+        Case crate = registered.crate;
+        CaseOpenEvent event = new CaseOpenEvent(playerUuid, crate);
+        for (CaseOpeningEventListener listener : currentListeners) listener.onCaseOpen(event);
+        if (event.isCancelled()) return fail(currentListeners, playerUuid, crate, CaseOpenFailureReason.CANCELLED);
+
+        return admissionController.submit(() -> vetoPolicy.evaluate(currentListeners, event).thenCompose(vetoed -> {
+            if (vetoed) return fail(currentListeners, playerUuid, crate, CaseOpenFailureReason.VETOED);
+            if (remove && !takeCase(playerUuid, caseId)) {
+                return fail(currentListeners, playerUuid, crate, CaseOpenFailureReason.NO_CASES);
+            }
+
+            return drawReward(registered, new HashSet<>()).handle((caseReward, throwable) -> {
+                if (throwable == null && caseReward != null) {
+                    complete(currentListeners, playerUuid, crate, caseReward);
+                    return CompletableFuture.completedFuture(true);
+                }
+
+                // The case was taken before the draw, so it is refunded whenever no reward was drawn
+                if (remove) addCases(playerUuid, caseId, 1);
+                if (throwable == null) return fail(currentListeners, playerUuid, crate, CaseOpenFailureReason.NO_REWARD_AVAILABLE);
+                fail(currentListeners, playerUuid, crate, CaseOpenFailureReason.ERROR);
+                return CompletableFuture.<Boolean>failedFuture(throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable);
+            }).thenCompose(Function.identity());
+        })).exceptionallyCompose(throwable -> {
+            if (!(throwable instanceof AdmissionRejectedException)) return CompletableFuture.failedFuture(throwable);
+            return fail(currentListeners, playerUuid, crate, CaseOpenFailureReason.OVERLOADED);
+        });
+    }
+
+    private boolean takeCase(UUID playerUuid, String caseId) {
+        int slot = playerTable.getPlayerSlots().getSlot(playerUuid);
+        int ordinal = playerTable.getCaseOrdinals().getOrdinal(caseId);
+        if (slot < 0 || ordinal < 0) return false;
+
+        boolean[] taken = new boolean[1];
+        playerTable.updateCases(slot, ordinal, current -> {
+            taken[0] = current > 0;
+            return taken[0] ? current - 1 : current;
+        });
+        return taken[0];
+    }
+
+    /**
+     * Draws a random available reward, weighted by chance. Limited rewards that turn out to be exhausted
+     * in the counter backend are excluded and the draw is repeated.
+     */
+    private CompletableFuture<CaseReward> drawReward(RegisteredCase registered, Set<CaseReward> excluded) {
+        double totalChance = 0;
+        for (CaseReward caseReward : registered.rewards) {
+            if (!excluded.contains(caseReward) && caseReward.isAvailable()) totalChance += caseReward.getChance();
+        }
+        if (totalChance <= 0) return CompletableFuture.completedFuture(null);
+
+        double roll = ThreadLocalRandom.current().nextDouble(totalChance);
+        CaseReward drawn = null;
+        for (CaseReward caseReward : registered.rewards) {
+            if (excluded.contains(caseReward) || !caseReward.isAvailable()) continue;
+            drawn = caseReward;
+            roll -= caseReward.getChance();
+            if (roll < 0) break;
+        }
+
+        CaseReward caseReward = drawn;
+        LeasedDrawCounter drawCounter = registered.drawCounters.get(caseReward);
+        if (drawCounter == null) return CompletableFuture.completedFuture(caseReward);
+        return drawCounter.tryDraw().thenCompose(success -> {
+            if (success) {
+                caseReward.reduceRemainingDraws();
+                return CompletableFuture.completedFuture(caseReward);
+            }
+            excluded.add(caseReward);
+            return drawReward(registered, excluded);
+        });
+    }
+
+    private void complete(List<CaseOpeningEventListener> currentListeners, UUID playerUuid, Case crate, CaseReward caseReward) {
+        if (caseReward.getType() == CaseRewardType.GEMS && caseReward.getGemsAmount() != null) {
+            addJewelry(playerUuid, caseReward.getGemsAmount());
+        }
+        playerTable.incrementCasesOpened(playerUuid);
+        totalCasesOpened.incrementAndGet();
+
+        CaseOpenCompleteEvent completeEvent = new CaseOpenCompleteEvent(playerUuid, crate, caseReward);
+        for (CaseOpeningEventListener listener : currentListeners) listener.onCaseOpenComplete(completeEvent);
+
+        if (!caseReward.isWithBroadcastMessage()) return;
+        CaseRewardAnnounceEvent announceEvent = new CaseRewardAnnounceEvent(playerUuid, crate, caseReward,
+                "A reward was won from " + crate.getDisplayName());
+        for (CaseOpeningEventListener listener : currentListeners) listener.onCaseRewardAnnounce(announceEvent);
+    }
+
+    private static CompletableFuture<Boolean> fail(List<CaseOpeningEventListener> currentListeners, UUID playerUuid, Case crate,
+                                                   CaseOpenFailureReason reason) {
+        FailedCaseOpenEvent event = new FailedCaseOpenEvent(playerUuid, crate, reason);
+        for (CaseOpeningEventListener listener : currentListeners) listener.onFailedCaseOpen(event);
+        return CompletableFuture.completedFuture(false);
+    }
+
+    private static void checkAmount(int amount) {
+        if (amount < 0) throw new IllegalArgumentException("The amount must not be negative");
+    }
+
+    private static int saturatedAdd(int current, int amount) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) current + amount);
+    }
+
+    private static final class RegisteredCase {
+
+        private final Case crate;
+        private final List<CaseReward> rewards;
+        private final Map<CaseReward, LeasedDrawCounter> drawCounters;
+
+        private RegisteredCase(Case crate, List<CaseReward> rewards, Map<CaseReward, LeasedDrawCounter> drawCounters) {
+            this.crate = crate;
+            this.rewards = List.copyOf(rewards);
+            this.drawCounters = drawCounters;
+        }
+    }
+}
\ No newline at end of file
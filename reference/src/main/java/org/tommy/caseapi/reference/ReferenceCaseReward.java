@@ -0,0 +1,214 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.reference;
+
+import org.tommy.caseapi.models.CaseReward;
+import org.tommy.caseapi.models.CaseRewardType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe {@link CaseReward} for use with the {@link InMemoryCaseAPI}.
+ * Optional values are set through chainable setters after construction.
+ * For limited rewards, the remaining draws are the local view of this server,
+ * the {@link org.tommy.caseapi.counters.CounterBackend} of the {@link InMemoryCaseAPI} is authoritative.
+ */
+public class ReferenceCaseReward implements CaseReward {
+
+    private final CaseRewardType type;
+    private final double chance;
+    private final String itemStackBase64;
+    private volatile boolean withBroadcastMessage;
+    private volatile int index;
+    private volatile int maxDraws;
+    private final AtomicInteger remainingDraws = new AtomicInteger();
+    private volatile Integer gemsAmount;
+    private volatile Double moneyAmount;
+    private volatile String command;
+    private volatile String permission;
+    private volatile Duration permissionDuration;
+
+    /**
+     * Constructs a new unlimited {@code ReferenceCaseReward}.
+     *
+     * @param type The type of the reward.
+     * @param chance The base chance of winning the reward.
+     * @param itemStackBase64 The Base64 encoded item stack of the reward, may be {@code null}.
+     */
+    public ReferenceCaseReward(CaseRewardType type, double chance, String itemStackBase64) {
+        this.type = type;
+        this.chance = chance;
+        this.itemStackBase64 = itemStackBase64;
+    }
+
+    @Override
+    public CaseRewardType getType() {
+        return type;
+    }
+
+    @Override
+    public double getWinChance(double totalChance) {
+        return totalChance <= 0 ? 0 : chance / totalChance * 100;
+    }
+
+    @Override
+    public double getChance() {
+        return chance;
+    }
+
+    @Override
+    public String getItemStackBase64() {
+        return itemStackBase64;
+    }
+
+    @Override
+    public boolean isWithBroadcastMessage() {
+        return withBroadcastMessage;
+    }
+
+    /**
+     * Sets whether winning this reward triggers a broadcast message.
+     *
+     * @param withBroadcastMessage {@code true} to broadcast wins of this reward.
+     * @return This {@link ReferenceCaseReward} instance for chaining.
+     */
+    public ReferenceCaseReward setWithBroadcastMessage(boolean withBroadcastMessage) {
+        this.withBroadcastMessage = withBroadcastMessage;
+        return this;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public ReferenceCaseReward setIndex(int index) {
+        this.index = index;
+        return this;
+    }
+
+    @Override
+    public boolean isLimited() {
+        return maxDraws > 0;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return !isLimited() || remainingDraws.get() > 0;
+    }
+
+    @Override
+    public int getMaxDraws() {
+        return maxDraws;
+    }
+
+    /**
+     * Limits the number of times this reward can be drawn and resets the remaining draws.
+     *
+     * @param maxDraws The maximum number of draws, or {@code 0} for an unlimited reward.
+     * @return This {@link ReferenceCaseReward} instance for chaining.
+     */
+    public ReferenceCaseReward setMaxDraws(int maxDraws) {
+        this.maxDraws = maxDraws;
+        this.remainingDraws.set(maxDraws);
+        return this;
+    }
+
+    @Override
+    public int getRemainingDraws() {
+        return remainingDraws.get();
+    }
+
+    @Override
+    public void reduceRemainingDraws() {
+        remainingDraws.updateAndGet(remaining -> Math.max(0, remaining - 1));
+    }
+
+    @Override
+    public Integer getGemsAmount() {
+        return gemsAmount;
+    }
+
+    /**
+     * Sets the amount of gems awarded by this reward.
+     *
+     * @param gemsAmount The amount of gems, or {@code null} if none.
+     * @return This {@link ReferenceCaseReward} instance for chaining.
+     */
+    public ReferenceCaseReward setGemsAmount(Integer gemsAmount) {
+        this.gemsAmount = gemsAmount;
+        return this;
+    }
+
+    @Override
+    public Double getMoneyAmount() {
+        return moneyAmount;
+    }
+
+    /**
+     * Sets the amount of money awarded by this reward.
+     *
+     * @param moneyAmount The amount of money, or {@code null} if none.
+     * @return This {@link ReferenceCaseReward} instance for chaining.
+     */
+    public ReferenceCaseReward setMoneyAmount(Double moneyAmount) {
+        this.moneyAmount = moneyAmount;
+        return this;
+    }
+
+    @Override
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Sets the command associated with this reward.
+     *
+     * @param command The command, or {@code null} if none.
+     * @return This {@link ReferenceCaseReward} instance for chaining.
+     */
+    public ReferenceCaseReward setCommand(String command) {
+        this.command = command;
+        return this;
+    }
+
+    @Override
+    public String getPermission() {
+        return permission;
+    }
+
+    @Override
+    public Duration getPermissionDuration() {
+        return permissionDuration;
+    }
+
+    /**
+     * Sets the permission granted by this reward.
+     *
+     * @param permission The permission, or {@code null} if none.
+     * @param permissionDuration The duration the permission is valid for, or {@code null} if it does not expire.
+     * @return This {@link ReferenceCaseReward} instance for chaining.
+     */
+    public ReferenceCaseReward setPermission(String permission, Duration permissionDuration) {
+        this.permission = permission;
+        this.permissionDuration = permissionDuration;
+        return this;
+    }
+}
\ No newline at end of file
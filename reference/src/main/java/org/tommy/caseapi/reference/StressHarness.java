@@ -0,0 +1,309 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.reference;
+
+import org.tommy.caseapi.counters.CounterBackend;
+import org.tommy.caseapi.counters.CounterKeys;
+import org.tommy.caseapi.counters.InMemoryCounterBackend;
+import org.tommy.caseapi.events.CaseOpenCompleteEvent;
+import org.tommy.caseapi.events.CaseOpenEvent;
+import org.tommy.caseapi.events.CaseOpenFailureReason;
+import org.tommy.caseapi.events.CaseOpenVetoPolicy;
+import org.tommy.caseapi.events.CaseOpeningEventListener;
+import org.tommy.caseapi.events.CaseRewardAnnounceEvent;
+import org.tommy.caseapi.events.FailedCaseOpenEvent;
+import org.tommy.caseapi.models.CaseReward;
+import org.tommy.caseapi.models.CaseRewardType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency stress harness for the {@link InMemoryCaseAPI}.
+ * Several instances share one counter backend, like the servers of a network, and are hammered with case opens,
+ * balance mutations and listener registrations from many threads. Afterwards the following invariants are checked:
+ * no balance is negative, no limited reward was won more often than its maximum draws across all instances,
+ * and the opening counters match the observed successful opens and completion events.
+ * <p>
+ * Arguments: {@code [threads] [operationsPerThread] [instances]}. Exits with status 1 if an invariant is violated.
+ * Custom listeners can be load tested by registering them in {@link #createInstance(CounterBackend)}.
+ */
+public class StressHarness {
+
+    private static final String[] CASE_IDS = {"common", "legendary"};
+    private static final int PLAYERS = 64;
+
+    private final int threads;
+    private final int operationsPerThread;
+    private final List<Instance> instances = new ArrayList<>();
+    private final List<UUID> players = new ArrayList<>();
+    private final Map<String, Integer> maxDraws = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> wins = new ConcurrentHashMap<>();
+    private final List<String> violations = new ArrayList<>();
+    private final AtomicBoolean negativeBalanceSeen = new AtomicBoolean();
+
+    private StressHarness(int threads, int operationsPerThread, int instanceCount) {
+        this.threads = threads;
+        this.operationsPerThread = operationsPerThread;
+        CounterBackend backend = new InMemoryCounterBackend();
+        for (int i = 0; i < instanceCount; i++) instances.add(createInstance(backend));
+        for (int i = 0; i < PLAYERS; i++) players.add(UUID.randomUUID());
+    }
+
+    /**
+     * Runs the stress harness.
+     *
+     * @param args {@code [threads] [operationsPerThread] [instances]}
+     * @throws Exception If the harness itself fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int operationsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int instanceCount = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        StressHarness harness = new StressHarness(threads, operationsPerThread, instanceCount);
+        long start = System.nanoTime();
+        harness.run();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        harness.verify();
+        harness.report(elapsedMillis);
+        System.exit(harness.violations.isEmpty() ? 0 : 1);
+    }
+
+    private Instance createInstance(CounterBackend backend) {
+        InMemoryCaseAPI caseAPI = new InMemoryCaseAPI(backend, new CaseOpenVetoPolicy(Duration.ofMillis(50), false));
+        caseAPI.registerCase(new ReferenceCase("common", "Common Case", null, 100, false, null), List.of(
+                new ReferenceCaseReward(CaseRewardType.GEMS, 50, null).setGemsAmount(5),
+                new ReferenceCaseReward(CaseRewardType.MONEY, 30, null).setMoneyAmount(250.0),
+                new ReferenceCaseReward(CaseRewardType.COMMAND, 15, null).setCommand("give %player% diamond 1"),
+                new ReferenceCaseReward(CaseRewardType.ITEM, 5, null).setMaxDraws(10).setWithBroadcastMessage(true)
+        ));
+        caseAPI.registerCase(new ReferenceCase("legendary", "Legendary Case", null, 1000, true, null), List.of(
+                new ReferenceCaseReward(CaseRewardType.ITEM, 40, null).setMaxDraws(25).setWithBroadcastMessage(true),
+                new ReferenceCaseReward(CaseRewardType.PERMISSION, 40, null).setMaxDraws(3)
+                        .setPermission("vip.legendary", Duration.ofDays(7)),
+                new ReferenceCaseReward(CaseRewardType.GEMS, 20, null).setGemsAmount(100)
+        ));
+        for (String caseId : CASE_IDS) {
+            for (CaseReward caseReward : caseAPI.getRewards(caseId)) {
+                if (caseReward.isLimited()) maxDraws.put(CounterKeys.rewardDraws(caseId, caseReward.getIndex()), caseReward.getMaxDraws());
+            }
+        }
+
+        Instance instance = new Instance(caseAPI);
+        caseAPI.registerListener(instance.tracker);
+        return instance;
+    }
+
+    private void run() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Future<?> monitor = executor.submit(() -> {
+            while (running.get()) checkBalances();
+        });
+
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) workers.add(executor.submit(this::work));
+        for (Future<?> worker : workers) worker.get();
+        running.set(false);
+        monitor.get();
+        executor.shutdown();
+
+        for (Instance instance : instances) instance.caseAPI.releaseDrawLeases().join();
+    }
+
+    private void work() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < operationsPerThread; i++) {
+            Instance instance = instances.get(random.nextInt(instances.size()));
+            InMemoryCaseAPI caseAPI = instance.caseAPI;
+            UUID playerUuid = players.get(random.nextInt(players.size()));
+            String caseId = CASE_IDS[random.nextInt(CASE_IDS.length)];
+            int operation = random.nextInt(100);
+
+            if (operation < 40) {
+                if (caseAPI.openCaseWithRemove(playerUuid, caseId).join()) instance.successfulOpens.increment();
+            } else if (operation < 50) {
+                if (caseAPI.openCaseWithoutRemove(playerUuid, caseId).join()) instance.successfulOpens.increment();
+            } else if (operation < 65) {
+                caseAPI.addCases(playerUuid, caseId, random.nextInt(1, 4));
+            } else if (operation < 75) {
+                caseAPI.removeCases(playerUuid, caseId, random.nextInt(1, 4));
+            } else if (operation < 83) {
+                caseAPI.addJewelry(playerUuid, random.nextInt(1, 50));
+            } else if (operation < 91) {
+                caseAPI.removeJewelry(playerUuid, random.nextInt(1, 50));
+            } else if (operation < 93) {
+                caseAPI.setCases(playerUuid, caseId, random.nextInt(5));
+            } else if (operation < 95) {
+                caseAPI.setJewelry(playerUuid, random.nextInt(100));
+            } else {
+                CaseOpeningEventListener listener = new VetoingListener();
+                caseAPI.registerListener(listener);
+                caseAPI.unregisterListener(listener);
+            }
+        }
+    }
+
+    private void checkBalances() {
+        for (Instance instance : instances) {
+            for (UUID playerUuid : players) {
+                if (instance.caseAPI.getJewelry(playerUuid).join() < 0) negativeBalanceSeen.set(true);
+                for (String caseId : CASE_IDS) {
+                    if (instance.caseAPI.getPlayerCases(playerUuid, caseId).join() < 0) negativeBalanceSeen.set(true);
+                }
+            }
+        }
+    }
+
+    private void verify() {
+        checkBalances();
+        if (negativeBalanceSeen.get()) violations.add("A negative balance was observed");
+
+        for (Map.Entry<String, Integer> entry : maxDraws.entrySet()) {
+            LongAdder won = wins.get(entry.getKey());
+            long count = won == null ? 0 : won.sum();
+            if (count > entry.getValue()) {
+                violations.add(entry.getKey() + " was won " + count + " times, but only " + entry.getValue() + " draws exist");
+            }
+        }
+
+        for (int i = 0; i < instances.size(); i++) {
+            Instance instance = instances.get(i);
+            long total = instance.caseAPI.getTotalCasesOpened().join();
+            long byPlayers = 0;
+            for (UUID playerUuid : players) byPlayers += instance.caseAPI.getTotalCasesOpenedByPlayer(playerUuid).join();
+
+            long successful = instance.successfulOpens.sum();
+            long completed = instance.tracker.completed.sum();
+            if (total != successful || total != completed || total != byPlayers) {
+                violations.add("Instance " + i + " counters do not match: total " + total + ", by players " + byPlayers
+                        + ", successful opens " + successful + ", completion events " + completed);
+            }
+        }
+    }
+
+    private void report(long elapsedMillis) {
+        long opens = 0;
+        long failed = 0;
+        Map<CaseOpenFailureReason, Long> failedByReason = new EnumMap<>(CaseOpenFailureReason.class);
+        for (Instance instance : instances) {
+            opens += instance.successfulOpens.sum();
+            failed += instance.tracker.failed.sum();
+            for (CaseOpenFailureReason reason : CaseOpenFailureReason.values()) {
+                long count = instance.tracker.failedByReason.get(reason).sum();
+                if (count > 0) failedByReason.merge(reason, count, Long::sum);
+            }
+        }
+        System.out.println("Operations: " + (long) threads * operationsPerThread + " in " + elapsedMillis + " ms on "
+                + threads + " threads and " + instances.size() + " instances");
+        System.out.println("Successful opens: " + opens + ", failed opens: " + failed + " " + failedByReason);
+        for (Map.Entry<String, Integer> entry : maxDraws.entrySet()) {
+            LongAdder won = wins.get(entry.getKey());
+            System.out.println("Limited reward " + entry.getKey() + ": " + (won == null ? 0 : won.sum()) + "/" + entry.getValue());
+        }
+        if (violations.isEmpty()) {
+            System.out.println("All invariants hold");
+        } else {
+            violations.forEach(violation -> System.out.println("VIOLATION: " + violation));
+        }
+    }
+
+    private final class Instance {
+
+        private final InMemoryCaseAPI caseAPI;
+        private final TrackingListener tracker = new TrackingListener();
+        private final LongAdder successfulOpens = new LongAdder();
+
+        private Instance(InMemoryCaseAPI caseAPI) {
+            this.caseAPI = caseAPI;
+        }
+    }
+
+    private final class TrackingListener implements CaseOpeningEventListener {
+
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final Map<CaseOpenFailureReason, LongAdder> failedByReason = new EnumMap<>(CaseOpenFailureReason.class);
+
+        private TrackingListener() {
+            for (CaseOpenFailureReason reason : CaseOpenFailureReason.values()) failedByReason.put(reason, new LongAdder());
+        }
+
+        @Override
+        public void onCaseOpen(CaseOpenEvent event) {
+        }
+
+        @Override
+        public void onCaseOpenComplete(CaseOpenCompleteEvent event) {
+            completed.increment();
+            CaseReward caseReward = event.getCaseReward();
+            if (caseReward.isLimited()) {
+                wins.computeIfAbsent(CounterKeys.rewardDraws(event.getCase(), caseReward), key -> new LongAdder()).increment();
+            }
+        }
+
+        @Override
+        public void onFailedCaseOpen(FailedCaseOpenEvent event) {
+            failed.increment();
+            failedByReason.get(event.getReason()).increment();
+        }
+
+        @Override
+        public void onCaseRewardAnnounce(CaseRewardAnnounceEvent event) {
+        }
+    }
+
+    private static final class VetoingListener implements CaseOpeningEventListener {
+
+        @Override
+        public void onCaseOpen(CaseOpenEvent event) {
+        }
+
+        @Override
+        public CompletableFuture<Boolean> onCaseOpenAsync(CaseOpenEvent event) {
+            return CompletableFuture.supplyAsync(() -> ThreadLocalRandom.current().nextInt(10) == 0,
+                    CompletableFuture.delayedExecutor(1, TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public void onCaseOpenComplete(CaseOpenCompleteEvent event) {
+        }
+
+        @Override
+        public void onFailedCaseOpen(FailedCaseOpenEvent event) {
+        }
+
+        @Override
+        public void onCaseRewardAnnounce(CaseRewardAnnounceEvent event) {
+        }
+    }
+}
\ No newline at end of file
@@ -1 +1,3 @@
-rootProject.name = "CaseAPI"
\ No newline at end of file
+rootProject.name = "CaseAPI"
+
+include("reference")
\ No newline at end of file
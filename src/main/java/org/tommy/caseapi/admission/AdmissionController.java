@@ -0,0 +1,267 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.admission;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrently running asynchronous operations, such as case opens or balance writes,
+ * so that a slow storage does not lead to an unbounded number of pending futures.
+ * <p>
+ * The limit adapts to the observed completion latency: a short-term average over the last few operations is compared
+ * with a long-term average over roughly ten seconds, and the limit shrinks while the short-term latency exceeds the long-term latency by more than half,
+ * and grows while the latency is stable and the limit is used. Operations above the limit wait in a bounded queue.
+ * If the queue is full or an operation waits longer than the maximum queue wait, it is rejected
+ * with an {@link AdmissionRejectedException} without being started.
+ * Queued operations are started on the thread that completes a running operation. They are started one after another
+ * in a loop rather than from each other's completion, so operations that complete synchronously do not nest on the stack.
+ */
+public class AdmissionController {
+
+    private static final double SHORT_LATENCY_SMOOTHING = 0.1;
+    private static final long LONG_LATENCY_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final double LATENCY_TOLERANCE = 1.5;
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final Duration maxQueueWait;
+    private final ArrayDeque<Operation<?>> queue = new ArrayDeque<>();
+    private double limit;
+    private double shortLatency;
+    private double longLatency;
+    private long lastSampleNanos;
+    private int inFlight;
+    private long rejected;
+    private boolean draining;
+
+    /**
+     * Constructs a new {@code AdmissionController}.
+     *
+     * @param initialLimit The number of concurrent operations allowed until latencies are observed.
+     * @param minLimit The lower bound of the limit.
+     * @param maxLimit The upper bound of the limit.
+     * @param maxQueued The maximum number of operations waiting for a free slot, may be {@code 0}.
+     * @param maxQueueWait The maximum time an operation waits for a free slot before it is rejected, must not be negative.
+     */
+    public AdmissionController(int initialLimit, int minLimit, int maxLimit, int maxQueued, Duration maxQueueWait) {
+        if (minLimit <= 0 || maxLimit < minLimit) throw new IllegalArgumentException("The limits must satisfy 0 < min <= max");
+        if (maxQueued < 0) throw new IllegalArgumentException("The queue size must not be negative");
+        if (maxQueueWait == null || maxQueueWait.isNegative()) {
+            throw new IllegalArgumentException("The maximum queue wait must not be null or negative");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+        this.maxQueueWait = maxQueueWait;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Runs an operation once the limit allows it. The latency of the operation is measured from the moment
+     * it is started until its stage completes, normally or exceptionally.
+     *
+     * @param operation The operation to run.
+     * @param <T> The result type of the operation.
+     * @return A {@link CompletableFuture} that completes with the result of the operation, or exceptionally with a
+     * {@link AdmissionRejectedException} if the operation was rejected without being started.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<? extends CompletionStage<T>> operation) {
+        Operation<T> pending = new Operation<>(operation);
+        boolean start;
+        synchronized (this) {
+            if (inFlight < (int) limit && queue.isEmpty()) {
+                inFlight++;
+                start = true;
+            } else if (queue.size() < maxQueued) {
+                queue.add(pending);
+                start = false;
+            } else {
+                rejected++;
+                pending.result.completeExceptionally(new AdmissionRejectedException("Too many pending operations"));
+                return pending.result;
+            }
+        }
+
+        if (start) {
+            start(pending);
+        } else {
+            CompletableFuture.delayedExecutor(maxQueueWait.toNanos(), TimeUnit.NANOSECONDS).execute(() -> expire(pending));
+        }
+        return pending.result;
+    }
+
+    /**
+     * Gets the current concurrency limit.
+     *
+     * @return The number of operations allowed to run at the same time.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Gets the number of running operations.
+     *
+     * @return The number of operations started but not completed yet.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of operations waiting for a free slot.
+     *
+     * @return The number of queued operations.
+     */
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of operations rejected so far, because the queue was full or they waited too long.
+     *
+     * @return The number of rejected operations.
+     */
+    public synchronized long getRejected() {
+        return rejected;
+    }
+
+    private <T> void start(Operation<T> operation) {
+        long startNanos = System.nanoTime();
+        CompletionStage<T> stage;
+        try {
+            stage = operation.supplier.get();
+        } catch (Throwable throwable) {
+            onComplete(operation, startNanos, null, throwable);
+            return;
+        }
+        stage.whenComplete((value, throwable) -> onComplete(operation, startNanos, value, throwable));
+    }
+
+    private <T> void onComplete(Operation<T> operation, long startNanos, T value, Throwable throwable) {
+        try {
+            release(startNanos);
+        } finally {
+            if (throwable != null) {
+                operation.result.completeExceptionally(throwable);
+            } else {
+                operation.result.complete(value);
+            }
+        }
+        startQueued();
+    }
+
+    private synchronized void release(long startNanos) {
+        long nowNanos = System.nanoTime();
+        try {
+            updateLimit(Math.max(1, nowNanos - startNanos), nowNanos);
+        } finally {
+            inFlight--;
+        }
+    }
+
+    /**
+     * Starts queued operations while the limit allows it. Only one thread drains at a time: a completion that happens
+     * while another thread is draining, including a synchronous completion inside {@link #start(Operation)},
+     * only frees its slot and leaves the next operation to the draining thread.
+     */
+    private void startQueued() {
+        synchronized (this) {
+            if (draining) return;
+            draining = true;
+        }
+        boolean drained = false;
+        try {
+            Operation<?> next;
+            while ((next = pollReady()) != null) start(next);
+            drained = true;
+        } finally {
+            if (!drained) {
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the next queued operation and its slot, or ends the drain if there is none or the limit is reached.
+     * Both happen under the same lock, so a slot freed concurrently is never left unused.
+     */
+    private synchronized Operation<?> pollReady() {
+        if (inFlight < (int) limit && !queue.isEmpty()) {
+            inFlight++;
+            return queue.poll();
+        }
+        draining = false;
+        return null;
+    }
+
+    private void expire(Operation<?> operation) {
+        synchronized (this) {
+            if (!queue.remove(operation)) return;
+            rejected++;
+        }
+        operation.result.completeExceptionally(new AdmissionRejectedException(
+                "Waited longer than " + maxQueueWait.toMillis() + " ms for a free slot"));
+    }
+
+    /**
+     * Moves the limit toward {@code limit * gradient + sqrt(limit)}, where the gradient is the ratio of
+     * the tolerated long-term latency to the short-term latency, capped to {@code [0.5, 1]}.
+     * Must be called while holding the lock, before the completed operation is removed from the in-flight count.
+     */
+    private void updateLimit(long latencyNanos, long nowNanos) {
+        if (longLatency == 0) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+        } else {
+            // The long-term average is weighted by time, otherwise a high throughput would shorten its window
+            double longSmoothing = Math.min(1.0, (nowNanos - lastSampleNanos) / (double) LONG_LATENCY_WINDOW_NANOS);
+            shortLatency += (latencyNanos - shortLatency) * SHORT_LATENCY_SMOOTHING;
+            longLatency += (latencyNanos - longLatency) * longSmoothing;
+        }
+        lastSampleNanos = nowNanos;
+        // Let the baseline catch up quickly once the latency dropped for good
+        if (longLatency > shortLatency * 2) longLatency *= 0.95;
+
+        // A limit that is not used says nothing about the capacity of the storage
+        if (inFlight < limit / 2) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, LATENCY_TOLERANCE * longLatency / shortLatency));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING));
+    }
+
+    private static final class Operation<T> {
+
+        private final Supplier<? extends CompletionStage<T>> supplier;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Operation(Supplier<? extends CompletionStage<T>> supplier) {
+            this.supplier = supplier;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.admission;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Thrown by an {@link AdmissionController} for an operation it rejected without starting it,
+ * so that callers can tell it apart from a {@link RejectedExecutionException} raised by the operation itself.
+ */
+public class AdmissionRejectedException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new {@code AdmissionRejectedException}.
+     *
+     * @param message The detail message.
+     */
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,450 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.codec;
+
+import org.tommy.caseapi.events.CaseOpenCompleteEvent;
+import org.tommy.caseapi.events.CaseOpenEvent;
+import org.tommy.caseapi.events.CaseOpenFailureReason;
+import org.tommy.caseapi.events.CaseRewardAnnounceEvent;
+import org.tommy.caseapi.events.FailedCaseOpenEvent;
+import org.tommy.caseapi.models.Case;
+import org.tommy.caseapi.models.CaseReward;
+import org.tommy.caseapi.models.CaseRewardType;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.tommy.caseapi.utils.BufferUtil.*;
+
+/**
+ * Versioned binary codec for cases, rewards and CaseAPI events, meant for sending them between servers.
+ * Every message starts with a version byte and a message type byte, followed by the message body.
+ * The version is kept per message type and only raised for the type whose body changed, so readers of an older release
+ * keep accepting all other messages.
+ * Values are written directly into the given {@link ByteBuffer}. If the buffer is too small,
+ * a {@link java.nio.BufferOverflowException} is thrown and the buffer position is undefined.
+ * Decoded cases and rewards are detached snapshots, changes to them are not synchronized back.
+ */
+public final class CaseCodec {
+
+    /**
+     * The version written for all messages except {@link FailedCaseOpenEvent} messages.
+     */
+    public static final byte VERSION = 1;
+    /**
+     * The version written for {@link FailedCaseOpenEvent} messages. Messages of version 1 are still read.
+     * Version 2 added the failure reason.
+     */
+    public static final byte FAILED_CASE_OPEN_EVENT_VERSION = 2;
+
+    /**
+     * Message type of a {@link Case}.
+     */
+    public static final byte TYPE_CASE = 1;
+    /**
+     * Message type of a {@link CaseReward}.
+     */
+    public static final byte TYPE_CASE_REWARD = 2;
+    /**
+     * Message type of a {@link CaseOpenEvent}.
+     */
+    public static final byte TYPE_CASE_OPEN_EVENT = 3;
+    /**
+     * Message type of a {@link CaseOpenCompleteEvent}.
+     */
+    public static final byte TYPE_CASE_OPEN_COMPLETE_EVENT = 4;
+    /**
+     * Message type of a {@link FailedCaseOpenEvent}.
+     */
+    public static final byte TYPE_FAILED_CASE_OPEN_EVENT = 5;
+    /**
+     * Message type of a {@link CaseRewardAnnounceEvent}.
+     */
+    public static final byte TYPE_CASE_REWARD_ANNOUNCE_EVENT = 6;
+
+    private static final int REWARD_BROADCAST = 1;
+    private static final int REWARD_LIMITED = 1 << 1;
+    private static final int REWARD_AVAILABLE = 1 << 2;
+    private static final int REWARD_GEMS = 1 << 3;
+    private static final int REWARD_MONEY = 1 << 4;
+    private static final int REWARD_DURATION = 1 << 5;
+
+    private CaseCodec() {
+    }
+
+    /**
+     * Writes a {@link Case} message.
+     *
+     * @param buffer The buffer to write to.
+     * @param crate The case to write.
+     */
+    public static void writeCase(ByteBuffer buffer, Case crate) {
+        writeHeader(buffer, TYPE_CASE);
+        writeCaseBody(buffer, crate);
+    }
+
+    /**
+     * Reads a {@link Case} message.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded case.
+     * @throws IllegalArgumentException If the message has an unsupported version or is not a case.
+     */
+    public static Case readCase(ByteBuffer buffer) {
+        readHeader(buffer, TYPE_CASE);
+        return readCaseBody(buffer);
+    }
+
+    /**
+     * Writes a {@link CaseReward} message.
+     *
+     * @param buffer The buffer to write to.
+     * @param caseReward The reward to write.
+     */
+    public static void writeCaseReward(ByteBuffer buffer, CaseReward caseReward) {
+        writeHeader(buffer, TYPE_CASE_REWARD);
+        writeCaseRewardBody(buffer, caseReward);
+    }
+
+    /**
+     * Reads a {@link CaseReward} message.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded reward.
+     * @throws IllegalArgumentException If the message has an unsupported version or is not a reward.
+     */
+    public static CaseReward readCaseReward(ByteBuffer buffer) {
+        readHeader(buffer, TYPE_CASE_REWARD);
+        return readCaseRewardBody(buffer);
+    }
+
+    /**
+     * Writes a {@link CaseOpenEvent} message, including its cancellation state.
+     *
+     * @param buffer The buffer to write to.
+     * @param event The event to write.
+     */
+    public static void writeCaseOpenEvent(ByteBuffer buffer, CaseOpenEvent event) {
+        writeHeader(buffer, TYPE_CASE_OPEN_EVENT);
+        writeUuid(buffer, event.getPlayerUuid());
+        writeNullableCase(buffer, event.getCase());
+        buffer.put((byte) (event.isCancelled() ? 1 : 0));
+    }
+
+    /**
+     * Reads a {@link CaseOpenEvent} message.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded event.
+     * @throws IllegalArgumentException If the message has an unsupported version or is not a {@link CaseOpenEvent}.
+     */
+    public static CaseOpenEvent readCaseOpenEvent(ByteBuffer buffer) {
+        readHeader(buffer, TYPE_CASE_OPEN_EVENT);
+        return readCaseOpenEventBody(buffer);
+    }
+
+    /**
+     * Writes a {@link CaseOpenCompleteEvent} message.
+     *
+     * @param buffer The buffer to write to.
+     * @param event The event to write.
+     */
+    public static void writeCaseOpenCompleteEvent(ByteBuffer buffer, CaseOpenCompleteEvent event) {
+        writeHeader(buffer, TYPE_CASE_OPEN_COMPLETE_EVENT);
+        writeUuid(buffer, event.getPlayerUuid());
+        writeNullableCase(buffer, event.getCase());
+        writeNullableCaseReward(buffer, event.getCaseReward());
+    }
+
+    /**
+     * Reads a {@link CaseOpenCompleteEvent} message.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded event.
+     * @throws IllegalArgumentException If the message has an unsupported version or is not a {@link CaseOpenCompleteEvent}.
+     */
+    public static CaseOpenCompleteEvent readCaseOpenCompleteEvent(ByteBuffer buffer) {
+        readHeader(buffer, TYPE_CASE_OPEN_COMPLETE_EVENT);
+        return readCaseOpenCompleteEventBody(buffer);
+    }
+
+    /**
+     * Writes a {@link FailedCaseOpenEvent} message.
+     *
+     * @param buffer The buffer to write to.
+     * @param event The event to write.
+     */
+    public static void writeFailedCaseOpenEvent(ByteBuffer buffer, FailedCaseOpenEvent event) {
+        writeHeader(buffer, FAILED_CASE_OPEN_EVENT_VERSION, TYPE_FAILED_CASE_OPEN_EVENT);
+        writeUuid(buffer, event.getPlayerUuid());
+        writeNullableCase(buffer, event.getCase());
+        buffer.put((byte) event.getReason().ordinal());
+    }
+
+    /**
+     * Reads a {@link FailedCaseOpenEvent} message. Messages of version 1 and unknown reasons
+     * are read with an {@link CaseOpenFailureReason#UNKNOWN} reason.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded event.
+     * @throws IllegalArgumentException If the message has an unsupported version or is not a {@link FailedCaseOpenEvent}.
+     */
+    public static FailedCaseOpenEvent readFailedCaseOpenEvent(ByteBuffer buffer) {
+        byte version = readHeader(buffer, TYPE_FAILED_CASE_OPEN_EVENT);
+        return readFailedCaseOpenEventBody(buffer, version);
+    }
+
+    /**
+     * Writes a {@link CaseRewardAnnounceEvent} message, including its message and cancellation state.
+     *
+     * @param buffer The buffer to write to.
+     * @param event The event to write.
+     */
+    public static void writeCaseRewardAnnounceEvent(ByteBuffer buffer, CaseRewardAnnounceEvent event) {
+        writeHeader(buffer, TYPE_CASE_REWARD_ANNOUNCE_EVENT);
+        writeUuid(buffer, event.getPlayerUuid());
+        writeNullableCase(buffer, event.getCase());
+        writeNullableCaseReward(buffer, event.getCaseReward());
+        writeString(buffer, event.getAnnounceMessage());
+        buffer.put((byte) (event.isCancelled() ? 1 : 0));
+    }
+
+    /**
+     * Reads a {@link CaseRewardAnnounceEvent} message.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded event.
+     * @throws IllegalArgumentException If the message has an unsupported version or is not a {@link CaseRewardAnnounceEvent}.
+     */
+    public static CaseRewardAnnounceEvent readCaseRewardAnnounceEvent(ByteBuffer buffer) {
+        readHeader(buffer, TYPE_CASE_REWARD_ANNOUNCE_EVENT);
+        return readCaseRewardAnnounceEventBody(buffer);
+    }
+
+    /**
+     * Reads a message of any type. The type of the returned object depends on the message type byte,
+     * it is either a {@link Case}, a {@link CaseReward} or one of the four event types.
+     *
+     * @param buffer The buffer to read from.
+     * @return The decoded object.
+     * @throws IllegalArgumentException If the message has an unsupported version or an unknown type.
+     */
+    public static Object read(ByteBuffer buffer) {
+        byte version = buffer.get();
+        byte type = buffer.get();
+        checkVersion(version, type);
+        return switch (type) {
+            case TYPE_CASE -> readCaseBody(buffer);
+            case TYPE_CASE_REWARD -> readCaseRewardBody(buffer);
+            case TYPE_CASE_OPEN_EVENT -> readCaseOpenEventBody(buffer);
+            case TYPE_CASE_OPEN_COMPLETE_EVENT -> readCaseOpenCompleteEventBody(buffer);
+            case TYPE_FAILED_CASE_OPEN_EVENT -> readFailedCaseOpenEventBody(buffer, version);
+            case TYPE_CASE_REWARD_ANNOUNCE_EVENT -> readCaseRewardAnnounceEventBody(buffer);
+            default -> throw new IllegalArgumentException("Unknown message type " + type);
+        };
+    }
+
+    private static void writeHeader(ByteBuffer buffer, byte type) {
+        writeHeader(buffer, VERSION, type);
+    }
+
+    private static void writeHeader(ByteBuffer buffer, byte version, byte type) {
+        buffer.put(version);
+        buffer.put(type);
+    }
+
+    private static byte readHeader(ByteBuffer buffer, byte expectedType) {
+        byte version = buffer.get();
+        byte type = buffer.get();
+        if (type != expectedType) {
+            throw new IllegalArgumentException("Expected message type " + expectedType + " but got " + type);
+        }
+        checkVersion(version, type);
+        return version;
+    }
+
+    private static void checkVersion(byte version, byte type) {
+        byte maxVersion = type == TYPE_FAILED_CASE_OPEN_EVENT ? FAILED_CASE_OPEN_EVENT_VERSION : VERSION;
+        if (version < 1 || version > maxVersion) {
+            throw new IllegalArgumentException("Unsupported codec version " + version + " for message type " + type);
+        }
+    }
+
+    private static void writeCaseBody(ByteBuffer buffer, Case crate) {
+        writeString(buffer, crate.getCaseId());
+        writeString(buffer, crate.getDisplayName());
+        writeString(buffer, crate.getItemStackBase64());
+        writeVarInt(buffer, crate.getPrice());
+        buffer.put((byte) (crate.isWithGlowing() ? 1 : 0));
+        writeString(buffer, crate.getPermission());
+    }
+
+    private static Case readCaseBody(ByteBuffer buffer) {
+        return new DecodedCase(
+                readString(buffer),
+                readString(buffer),
+                readString(buffer),
+                readVarInt(buffer),
+                buffer.get() != 0,
+                readString(buffer)
+        );
+    }
+
+    private static void writeCaseRewardBody(ByteBuffer buffer, CaseReward caseReward) {
+        Integer gemsAmount = caseReward.getGemsAmount();
+        Double moneyAmount = caseReward.getMoneyAmount();
+        Duration permissionDuration = caseReward.getPermissionDuration();
+
+        int flags = 0;
+        if (caseReward.isWithBroadcastMessage()) flags |= REWARD_BROADCAST;
+        if (caseReward.isLimited()) flags |= REWARD_LIMITED;
+        if (caseReward.isAvailable()) flags |= REWARD_AVAILABLE;
+        if (gemsAmount != null) flags |= REWARD_GEMS;
+        if (moneyAmount != null) flags |= REWARD_MONEY;
+        if (permissionDuration != null) flags |= REWARD_DURATION;
+
+        CaseRewardType type = caseReward.getType();
+        buffer.put(rewardTypeCode(type));
+        buffer.put((byte) flags);
+        buffer.putDouble(caseReward.getChance());
+        writeString(buffer, caseReward.getItemStackBase64());
+        writeVarInt(buffer, caseReward.getIndex());
+        writeVarInt(buffer, caseReward.getMaxDraws());
+        writeVarInt(buffer, caseReward.getRemainingDraws());
+        if (gemsAmount != null) writeVarInt(buffer, gemsAmount);
+        if (moneyAmount != null) buffer.putDouble(moneyAmount);
+        writeString(buffer, caseReward.getCommand());
+        writeString(buffer, caseReward.getPermission());
+        if (permissionDuration != null) {
+            writeVarLong(buffer, permissionDuration.getSeconds());
+            writeVarInt(buffer, permissionDuration.getNano());
+        }
+    }
+
+    private static CaseReward readCaseRewardBody(ByteBuffer buffer) {
+        CaseRewardType type = rewardType(buffer.get());
+        int flags = buffer.get();
+        double chance = buffer.getDouble();
+        String itemStackBase64 = readString(buffer);
+        int index = readVarInt(buffer);
+        int maxDraws = readVarInt(buffer);
+        int remainingDraws = readVarInt(buffer);
+        Integer gemsAmount = (flags & REWARD_GEMS) != 0 ? readVarInt(buffer) : null;
+        Double moneyAmount = (flags & REWARD_MONEY) != 0 ? buffer.getDouble() : null;
+        String command = readString(buffer);
+        String permission = readString(buffer);
+        Duration permissionDuration = (flags & REWARD_DURATION) != 0
+                ? Duration.ofSeconds(readVarLong(buffer), readVarInt(buffer))
+                : null;
+
+        return new DecodedCaseReward(
+                type,
+                chance,
+                itemStackBase64,
+                (flags & REWARD_BROADCAST) != 0,
+                index,
+                (flags & REWARD_LIMITED) != 0,
+                (flags & REWARD_AVAILABLE) != 0,
+                maxDraws,
+                remainingDraws,
+                gemsAmount,
+                moneyAmount,
+                command,
+                permission,
+                permissionDuration
+        );
+    }
+
+    /**
+     * Maps a reward type to its wire code. The codes are fixed and independent of the declaration order of
+     * {@link CaseRewardType}, so reordering the enum does not change decoded types. New types need a new code.
+     */
+    private static byte rewardTypeCode(CaseRewardType type) {
+        if (type == null) return -1;
+        return switch (type) {
+            case ITEM -> 0;
+            case GEMS -> 1;
+            case MONEY -> 2;
+            case COMMAND -> 3;
+            case PERMISSION -> 4;
+        };
+    }
+
+    private static CaseRewardType rewardType(byte code) {
+        return switch (code) {
+            case -1 -> null;
+            case 0 -> CaseRewardType.ITEM;
+            case 1 -> CaseRewardType.GEMS;
+            case 2 -> CaseRewardType.MONEY;
+            case 3 -> CaseRewardType.COMMAND;
+            case 4 -> CaseRewardType.PERMISSION;
+            default -> throw new IllegalArgumentException("Unknown reward type " + code);
+        };
+    }
+
+    private static void writeNullableCase(ByteBuffer buffer, Case crate) {
+        buffer.put((byte) (crate == null ? 0 : 1));
+        if (crate != null) writeCaseBody(buffer, crate);
+    }
+
+    private static Case readNullableCase(ByteBuffer buffer) {
+        return buffer.get() != 0 ? readCaseBody(buffer) : null;
+    }
+
+    private static void writeNullableCaseReward(ByteBuffer buffer, CaseReward caseReward) {
+        buffer.put((byte) (caseReward == null ? 0 : 1));
+        if (caseReward != null) writeCaseRewardBody(buffer, caseReward);
+    }
+
+    private static CaseReward readNullableCaseReward(ByteBuffer buffer) {
+        return buffer.get() != 0 ? readCaseRewardBody(buffer) : null;
+    }
+
+    private static CaseOpenEvent readCaseOpenEventBody(ByteBuffer buffer) {
+        CaseOpenEvent event = new CaseOpenEvent(readUuid(buffer), readNullableCase(buffer));
+        event.setCancelled(buffer.get() != 0);
+        return event;
+    }
+
+    private static CaseOpenCompleteEvent readCaseOpenCompleteEventBody(ByteBuffer buffer) {
+        return new CaseOpenCompleteEvent(readUuid(buffer), readNullableCase(buffer), readNullableCaseReward(buffer));
+    }
+
+    private static FailedCaseOpenEvent readFailedCaseOpenEventBody(ByteBuffer buffer, byte version) {
+        UUID playerUuid = readUuid(buffer);
+        Case crate = readNullableCase(buffer);
+        if (version < 2) return new FailedCaseOpenEvent(playerUuid, crate);
+
+        int ordinal = buffer.get();
+        CaseOpenFailureReason[] reasons = CaseOpenFailureReason.values();
+        return new FailedCaseOpenEvent(playerUuid, crate,
+                ordinal >= 0 && ordinal < reasons.length ? reasons[ordinal] : CaseOpenFailureReason.UNKNOWN);
+    }
+
+    private static CaseRewardAnnounceEvent readCaseRewardAnnounceEventBody(ByteBuffer buffer) {
+        CaseRewardAnnounceEvent event = new CaseRewardAnnounceEvent(
+                readUuid(buffer),
+                readNullableCase(buffer),
+                readNullableCaseReward(buffer),
+                readString(buffer)
+        );
+        event.setCancelled(buffer.get() != 0);
+        return event;
+    }
+}
\ No newline at end of file
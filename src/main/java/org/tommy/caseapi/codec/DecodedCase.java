@@ -0,0 +1,72 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.codec;
+
+import org.tommy.caseapi.models.Case;
+
+/**
+ * Immutable {@link Case} read by the {@link CaseCodec}.
+ */
+final class DecodedCase implements Case {
+
+    private final String caseId;
+    private final String displayName;
+    private final String itemStackBase64;
+    private final int price;
+    private final boolean withGlowing;
+    private final String permission;
+
+    DecodedCase(String caseId, String displayName, String itemStackBase64, int price, boolean withGlowing, String permission) {
+        this.caseId = caseId;
+        this.displayName = displayName;
+        this.itemStackBase64 = itemStackBase64;
+        this.price = price;
+        this.withGlowing = withGlowing;
+        this.permission = permission;
+    }
+
+    @Override
+    public String getCaseId() {
+        return caseId;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String getItemStackBase64() {
+        return itemStackBase64;
+    }
+
+    @Override
+    public int getPrice() {
+        return price;
+    }
+
+    @Override
+    public boolean isWithGlowing() {
+        return withGlowing;
+    }
+
+    @Override
+    public String getPermission() {
+        return permission;
+    }
+}
\ No newline at end of file
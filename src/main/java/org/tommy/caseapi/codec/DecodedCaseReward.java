@@ -0,0 +1,156 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.codec;
+
+import org.tommy.caseapi.models.CaseReward;
+import org.tommy.caseapi.models.CaseRewardType;
+
+import java.time.Duration;
+
+/**
+ * {@link CaseReward} read by the {@link CaseCodec}.
+ * The index and the remaining draws can be changed locally, all other values are fixed.
+ */
+final class DecodedCaseReward implements CaseReward {
+
+    private final CaseRewardType type;
+    private final double chance;
+    private final String itemStackBase64;
+    private final boolean withBroadcastMessage;
+    private int index;
+    private final boolean limited;
+    private final boolean available;
+    private final int maxDraws;
+    private int remainingDraws;
+    private final Integer gemsAmount;
+    private final Double moneyAmount;
+    private final String command;
+    private final String permission;
+    private final Duration permissionDuration;
+
+    DecodedCaseReward(CaseRewardType type, double chance, String itemStackBase64, boolean withBroadcastMessage, int index,
+                      boolean limited, boolean available, int maxDraws, int remainingDraws, Integer gemsAmount,
+                      Double moneyAmount, String command, String permission, Duration permissionDuration) {
+        this.type = type;
+        this.chance = chance;
+        this.itemStackBase64 = itemStackBase64;
+        this.withBroadcastMessage = withBroadcastMessage;
+        this.index = index;
+        this.limited = limited;
+        this.available = available;
+        this.maxDraws = maxDraws;
+        this.remainingDraws = remainingDraws;
+        this.gemsAmount = gemsAmount;
+        this.moneyAmount = moneyAmount;
+        this.command = command;
+        this.permission = permission;
+        this.permissionDuration = permissionDuration;
+    }
+
+    @Override
+    public CaseRewardType getType() {
+        return type;
+    }
+
+    /**
+     * Calculates the win chance of this reward as a percentage of the total chance.
+     *
+     * @param totalChance The total chance value used for normalization.
+     * @return The win chance in percent, or {@code 0} if the total chance is not positive.
+     */
+    @Override
+    public double getWinChance(double totalChance) {
+        return totalChance <= 0 ? 0 : chance / totalChance * 100;
+    }
+
+    @Override
+    public double getChance() {
+        return chance;
+    }
+
+    @Override
+    public String getItemStackBase64() {
+        return itemStackBase64;
+    }
+
+    @Override
+    public boolean isWithBroadcastMessage() {
+        return withBroadcastMessage;
+    }
+
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public CaseReward setIndex(int index) {
+        this.index = index;
+        return this;
+    }
+
+    @Override
+    public boolean isLimited() {
+        return limited;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return available && (!limited || remainingDraws > 0);
+    }
+
+    @Override
+    public int getMaxDraws() {
+        return maxDraws;
+    }
+
+    @Override
+    public int getRemainingDraws() {
+        return remainingDraws;
+    }
+
+    @Override
+    public void reduceRemainingDraws() {
+        if (remainingDraws > 0) remainingDraws--;
+    }
+
+    @Override
+    public Integer getGemsAmount() {
+        return gemsAmount;
+    }
+
+    @Override
+    public Double getMoneyAmount() {
+        return moneyAmount;
+    }
+
+    @Override
+    public String getCommand() {
+        return command;
+    }
+
+    @Override
+    public String getPermission() {
+        return permission;
+    }
+
+    @Override
+    public Duration getPermissionDuration() {
+        return permissionDuration;
+    }
+}
\ No newline at end of file
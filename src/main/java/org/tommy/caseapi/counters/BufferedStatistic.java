@@ -0,0 +1,87 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.counters;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server local buffer for a global statistic, such as the total number of opened cases.
+ * Increments are collected locally and written to the {@link CounterBackend} in one call on {@link #flush()},
+ * which is meant to be called periodically and when the server shuts down.
+ */
+public class BufferedStatistic {
+
+    private final CounterBackend backend;
+    private final String key;
+    private final AtomicLong pending = new AtomicLong();
+
+    /**
+     * Constructs a new {@code BufferedStatistic}.
+     *
+     * @param backend The backend holding the global statistic.
+     * @param key The key of the statistic, see {@link CounterKeys}.
+     */
+    public BufferedStatistic(CounterBackend backend, String key) {
+        this.backend = backend;
+        this.key = key;
+    }
+
+    /**
+     * Adds a value to the local buffer.
+     *
+     * @param delta The value to add.
+     */
+    public void add(long delta) {
+        pending.addAndGet(delta);
+    }
+
+    /**
+     * Writes the buffered value to the backend.
+     * If the write fails, the value is put back into the buffer and written with the next flush.
+     *
+     * @return A {@link CompletableFuture} that completes once the buffered value is written.
+     */
+    public CompletableFuture<Void> flush() {
+        long delta = pending.getAndSet(0);
+        if (delta == 0) return CompletableFuture.completedFuture(null);
+        return backend.addToStatistic(key, delta)
+                .whenComplete((value, throwable) -> {
+                    if (throwable != null) pending.addAndGet(delta);
+                })
+                .thenApply(value -> null);
+    }
+
+    /**
+     * Gets the global value of the statistic including the local buffer.
+     *
+     * @return A {@link CompletableFuture} that completes with the value of the statistic.
+     */
+    public CompletableFuture<Long> get() {
+        return backend.getStatistic(key).thenApply(value -> value + pending.get());
+    }
+
+    /**
+     * Gets the key of the statistic.
+     *
+     * @return The key as a {@link String}.
+     */
+    public String getKey() {
+        return key;
+    }
+}
\ No newline at end of file
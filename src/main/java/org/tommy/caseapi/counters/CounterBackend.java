@@ -0,0 +1,84 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.counters;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage for counters that have to be consistent across all servers of a network,
+ * such as the remaining draws of limited rewards and global statistics.
+ * Every operation must be atomic across all servers using the same backend.
+ * Servers should not call the backend for every draw, but lease blocks of draws through a {@link LeasedDrawCounter}.
+ * Keys can be created with {@link CounterKeys}.
+ */
+public interface CounterBackend {
+
+    /**
+     * Initializes the remaining draws of a limited reward, if they have not been initialized before.
+     *
+     * @param key The key of the draw counter.
+     * @param maxDraws The maximum number of draws of the reward.
+     * @return A {@link CompletableFuture} that completes once the counter is initialized.
+     */
+    CompletableFuture<Void> initializeDraws(String key, int maxDraws);
+
+    /**
+     * Atomically takes up to the requested number of draws from a draw counter.
+     *
+     * @param key The key of the draw counter.
+     * @param amount The number of draws to take.
+     * @return A {@link CompletableFuture} that completes with the number of draws taken,
+     *         which is less than requested if not enough draws are left, and {@code 0} if the counter is exhausted or unknown.
+     */
+    CompletableFuture<Integer> reserveDraws(String key, int amount);
+
+    /**
+     * Returns previously reserved but unused draws to a draw counter.
+     *
+     * @param key The key of the draw counter.
+     * @param amount The number of draws to return.
+     * @return A {@link CompletableFuture} that completes once the draws are returned.
+     */
+    CompletableFuture<Void> releaseDraws(String key, int amount);
+
+    /**
+     * Gets the number of draws that have not been reserved by any server yet.
+     * Draws that are currently leased by a server are not included.
+     *
+     * @param key The key of the draw counter.
+     * @return A {@link CompletableFuture} that completes with the number of unreserved draws.
+     */
+    CompletableFuture<Integer> getRemainingDraws(String key);
+
+    /**
+     * Atomically adds a value to a statistic.
+     *
+     * @param key The key of the statistic.
+     * @param delta The value to add.
+     * @return A {@link CompletableFuture} that completes with the new value of the statistic.
+     */
+    CompletableFuture<Long> addToStatistic(String key, long delta);
+
+    /**
+     * Gets the current value of a statistic.
+     *
+     * @param key The key of the statistic.
+     * @return A {@link CompletableFuture} that completes with the value of the statistic, or {@code 0} if it is unknown.
+     */
+    CompletableFuture<Long> getStatistic(String key);
+}
\ No newline at end of file
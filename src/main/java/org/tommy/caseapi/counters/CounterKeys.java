@@ -0,0 +1,67 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.counters;
+
+import org.tommy.caseapi.models.Case;
+import org.tommy.caseapi.models.CaseReward;
+
+import java.util.UUID;
+
+/**
+ * Utility class for building the keys used in a {@link CounterBackend}.
+ * All servers of a network have to use the same keys for the same counters.
+ */
+public class CounterKeys {
+
+    /**
+     * The key of the statistic counting all opened cases.
+     */
+    public static final String TOTAL_CASES_OPENED = "opened:total";
+
+    /**
+     * Gets the key of the draw counter of a limited reward.
+     *
+     * @param crate The case the reward belongs to.
+     * @param caseReward The limited reward.
+     * @return The key of the draw counter.
+     */
+    public static String rewardDraws(Case crate, CaseReward caseReward) {
+        return rewardDraws(crate.getCaseId(), caseReward.getIndex());
+    }
+
+    /**
+     * Gets the key of the draw counter of a limited reward.
+     *
+     * @param caseId The ID of the case the reward belongs to.
+     * @param rewardIndex The index of the reward within the case.
+     * @return The key of the draw counter.
+     */
+    public static String rewardDraws(String caseId, int rewardIndex) {
+        return "draws:" + caseId + ":" + rewardIndex;
+    }
+
+    /**
+     * Gets the key of the statistic counting the cases opened by a player.
+     *
+     * @param playerUuid The uuid of the player.
+     * @return The key of the statistic.
+     */
+    public static String casesOpenedBy(UUID playerUuid) {
+        return "opened:" + playerUuid;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,247 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.counters;
+
+import org.tommy.caseapi.utils.BufferUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * {@link CounterBackend} that stores all counters in a single file, guarded by an OS file lock.
+ * Several server processes on the same machine can share the file, which makes it possible to test
+ * network wide limits locally without an external service.
+ * Every operation reads and rewrites the whole file, so it is only suited for a moderate number of counters.
+ * Only one instance per file may exist within a JVM.
+ * <p>
+ * The file cannot be replaced atomically, as the other processes lock the file they opened. Instead, every update
+ * is first written to a backup file next to it and forced, and only then written over the file itself.
+ * Both copies carry a checksum, so if a crash tears the file, the counters are read from the backup.
+ */
+public class FileCounterBackend implements CounterBackend, AutoCloseable {
+
+    private static final String BACKUP_SUFFIX = ".bak";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FileChannel backup;
+    private final ExecutorService executor;
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Constructs a new {@code FileCounterBackend}, creating the file if it does not exist.
+     *
+     * @param file The file the counters are stored in. The backup is stored next to it, with {@code .bak} appended to the name.
+     * @throws IOException If the file cannot be opened.
+     */
+    public FileCounterBackend(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.backup = FileChannel.open(file.resolveSibling(file.getFileName() + BACKUP_SUFFIX),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CaseAPI-FileCounterBackend");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> initializeDraws(String key, int maxDraws) {
+        return update(counters -> {
+            counters.putIfAbsent(key, (long) maxDraws);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> reserveDraws(String key, int amount) {
+        return update(counters -> {
+            Long remaining = counters.get(key);
+            if (remaining == null) return 0;
+            int granted = (int) Math.max(0, Math.min(remaining, amount));
+            counters.put(key, remaining - granted);
+            return granted;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> releaseDraws(String key, int amount) {
+        return update(counters -> {
+            counters.merge(key, (long) amount, Long::sum);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> getRemainingDraws(String key) {
+        return read(counters -> counters.getOrDefault(key, 0L).intValue());
+    }
+
+    @Override
+    public CompletableFuture<Long> addToStatistic(String key, long delta) {
+        return update(counters -> counters.merge(key, delta, Long::sum));
+    }
+
+    @Override
+    public CompletableFuture<Long> getStatistic(String key) {
+        return read(counters -> counters.getOrDefault(key, 0L));
+    }
+
+    /**
+     * Waits for all queued operations to finish and closes the file. Operations submitted afterwards are rejected.
+     * The file is never closed while an operation is writing to it, even if the calling thread is interrupted.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        try {
+            channel.close();
+            backup.close();
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> read(Function<Map<String, Long>, T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+                return operation.apply(readCounters());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    private <T> CompletableFuture<T> update(Function<Map<String, Long>, T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (FileLock ignored = channel.lock()) {
+                Map<String, Long> counters = readCounters();
+                T result = operation.apply(counters);
+                writeCounters(counters);
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    private Map<String, Long> readCounters() throws IOException {
+        if (channel.size() == 0 && backup.size() == 0) return new HashMap<>();
+
+        Map<String, Long> counters = readCounters(channel);
+        if (counters == null) counters = readCounters(backup);
+        if (counters == null) throw new IOException("The counter file and its backup are corrupt: " + file);
+        return counters;
+    }
+
+    /**
+     * Reads the counters of one copy.
+     *
+     * @return The counters, or {@code null} if the copy is empty, torn or corrupt.
+     */
+    private Map<String, Long> readCounters(FileChannel source) throws IOException {
+        long size = source.size();
+        if (size < 8) return null;
+
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size));
+        while (buffer.hasRemaining()) {
+            if (source.read(buffer, buffer.position()) < 0) break;
+        }
+        buffer.flip();
+        int contentLength = buffer.getInt();
+        if (contentLength < 0 || contentLength + 4 > buffer.remaining()) return null;
+
+        ByteBuffer content = buffer.slice(4, contentLength);
+        crc.reset();
+        crc.update(content.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(4 + contentLength)) return null;
+
+        try {
+            int count = BufferUtil.readVarInt(content);
+            Map<String, Long> counters = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                counters.put(BufferUtil.readString(content), BufferUtil.readVarLong(content));
+            }
+            return counters;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void writeCounters(Map<String, Long> counters) throws IOException {
+        int size = 4 + 5 + 4;
+        for (String key : counters.keySet()) size += 5 + BufferUtil.utf8Length(key) + 10;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(0);
+        BufferUtil.writeVarInt(buffer, counters.size());
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            BufferUtil.writeString(buffer, entry.getKey());
+            BufferUtil.writeVarLong(buffer, entry.getValue());
+        }
+        int contentLength = buffer.position() - 4;
+        buffer.putInt(0, contentLength);
+        crc.reset();
+        crc.update(buffer.slice(4, contentLength));
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        // The backup has to be complete before the file is overwritten, so one of them is always intact
+        writeFully(backup, buffer.duplicate());
+        writeFully(channel, buffer);
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer buffer) throws IOException {
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            target.write(buffer, buffer.position());
+        }
+        target.truncate(length);
+        target.force(false);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.counters;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CounterBackend} that keeps all counters in memory.
+ * Intended for single server setups and for testing, where several {@link LeasedDrawCounter}s
+ * sharing one instance stand in for the servers of a network.
+ */
+public class InMemoryCounterBackend implements CounterBackend {
+
+    private final Map<String, Long> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<Void> initializeDraws(String key, int maxDraws) {
+        counters.putIfAbsent(key, (long) maxDraws);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Integer> reserveDraws(String key, int amount) {
+        int[] granted = new int[1];
+        counters.computeIfPresent(key, (k, remaining) -> {
+            granted[0] = (int) Math.max(0, Math.min(remaining, amount));
+            return remaining - granted[0];
+        });
+        return CompletableFuture.completedFuture(granted[0]);
+    }
+
+    @Override
+    public CompletableFuture<Void> releaseDraws(String key, int amount) {
+        counters.merge(key, (long) amount, Long::sum);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getRemainingDraws(String key) {
+        return CompletableFuture.completedFuture(counters.getOrDefault(key, 0L).intValue());
+    }
+
+    @Override
+    public CompletableFuture<Long> addToStatistic(String key, long delta) {
+        return CompletableFuture.completedFuture(counters.merge(key, delta, Long::sum));
+    }
+
+    @Override
+    public CompletableFuture<Long> getStatistic(String key) {
+        return CompletableFuture.completedFuture(counters.getOrDefault(key, 0L));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.counters;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server local view of the draw counter of a limited reward.
+ * Instead of asking the {@link CounterBackend} for every draw, the counter leases a block of draws
+ * and hands them out locally until the block is used up. Only one block request is in flight at a time.
+ * A reward can therefore never be drawn more often than its maximum draws across all servers,
+ * while the backend is only contacted once per block.
+ * Unused draws should be returned with {@link #releaseLease()} when the server shuts down.
+ */
+public class LeasedDrawCounter {
+
+    private final CounterBackend backend;
+    private final String key;
+    private final int blockSize;
+    private final long exhaustionRecheckNanos;
+    private final AtomicInteger leasedDraws = new AtomicInteger();
+    private final Object refillLock = new Object();
+    private CompletableFuture<Integer> refill;
+    private volatile boolean exhausted;
+    private volatile long exhaustedAt;
+
+    /**
+     * Constructs a new {@code LeasedDrawCounter}.
+     *
+     * @param backend The backend holding the global draw counter.
+     * @param key The key of the draw counter, see {@link CounterKeys#rewardDraws(String, int)}.
+     * @param blockSize The number of draws to lease at once.
+     * @param exhaustionRecheck How long to answer draws locally with {@code false} after the backend reported
+     *                          the counter as exhausted, before asking the backend again.
+     */
+    public LeasedDrawCounter(CounterBackend backend, String key, int blockSize, Duration exhaustionRecheck) {
+        if (blockSize <= 0) throw new IllegalArgumentException("The block size must be positive");
+        this.backend = backend;
+        this.key = key;
+        this.blockSize = blockSize;
+        this.exhaustionRecheckNanos = exhaustionRecheck.toNanos();
+    }
+
+    /**
+     * Tries to take one draw. Completes immediately if a leased draw is available locally,
+     * otherwise after a new block was leased from the backend.
+     *
+     * @return A {@link CompletableFuture} that completes with {@code true} if a draw was taken,
+     *         {@code false} if the reward is exhausted.
+     */
+    public CompletableFuture<Boolean> tryDraw() {
+        if (takeLeasedDraw()) return CompletableFuture.completedFuture(true);
+        if (exhausted && System.nanoTime() - exhaustedAt < exhaustionRecheckNanos) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return refill().thenCompose(granted -> granted > 0
+                ? tryDraw()
+                : CompletableFuture.completedFuture(takeLeasedDraw()));
+    }
+
+    /**
+     * Returns all leased but unused draws to the backend.
+     *
+     * @return A {@link CompletableFuture} that completes once the draws are returned.
+     */
+    public CompletableFuture<Void> releaseLease() {
+        int unused = leasedDraws.getAndSet(0);
+        if (unused == 0) return CompletableFuture.completedFuture(null);
+        return backend.releaseDraws(key, unused);
+    }
+
+    /**
+     * Gets the number of draws currently leased by this server and not yet taken.
+     *
+     * @return The number of leased draws.
+     */
+    public int getLeasedDraws() {
+        return leasedDraws.get();
+    }
+
+    /**
+     * Gets the key of the draw counter.
+     *
+     * @return The key as a {@link String}.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    private boolean takeLeasedDraw() {
+        int left;
+        do {
+            left = leasedDraws.get();
+            if (left <= 0) return false;
+        } while (!leasedDraws.compareAndSet(left, left - 1));
+        return true;
+    }
+
+    private CompletableFuture<Integer> refill() {
+        CompletableFuture<Integer> pending;
+        synchronized (refillLock) {
+            if (refill != null) return refill;
+            pending = refill = new CompletableFuture<>();
+        }
+
+        backend.reserveDraws(key, blockSize).whenComplete((granted, throwable) -> {
+            if (throwable == null) {
+                leasedDraws.addAndGet(granted);
+                exhaustedAt = System.nanoTime();
+                exhausted = granted == 0;
+            }
+            // Clear the in-flight request before completing it, so retries start a new one.
+            synchronized (refillLock) {
+                refill = null;
+            }
+            if (throwable != null) {
+                pending.completeExceptionally(throwable);
+            } else {
+                pending.complete(granted);
+            }
+        });
+        return pending;
+    }
+}
\ No newline at end of file
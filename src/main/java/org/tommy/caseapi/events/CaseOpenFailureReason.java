@@ -0,0 +1,67 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.events;
+
+/**
+ * Defines why a player failed to open a case, see {@link FailedCaseOpenEvent#getReason()}.
+ * New reasons are only ever appended.
+ */
+public enum CaseOpenFailureReason {
+
+    /**
+     * The reason is not known, e.g. because the event was fired by an implementation that does not report reasons.
+     */
+    UNKNOWN,
+
+    /**
+     * The case does not exist.
+     */
+    CASE_NOT_FOUND,
+
+    /**
+     * The player does not own the case.
+     */
+    NO_CASES,
+
+    /**
+     * A listener cancelled the {@link CaseOpenEvent}.
+     */
+    CANCELLED,
+
+    /**
+     * A listener vetoed the open asynchronously, see {@link CaseOpeningEventListener#onCaseOpenAsync(CaseOpenEvent)}.
+     */
+    VETOED,
+
+    /**
+     * None of the rewards of the case can be drawn anymore.
+     */
+    NO_REWARD_AVAILABLE,
+
+    /**
+     * The open was rejected without being attempted because too many operations are pending.
+     * The player may retry later.
+     */
+    OVERLOADED,
+
+    /**
+     * The open failed with an error, e.g. because the counter backend was not reachable.
+     * The open is undone and the returned future completes exceptionally with the error.
+     */
+    ERROR
+}
\ No newline at end of file
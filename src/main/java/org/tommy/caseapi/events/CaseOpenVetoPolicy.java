@@ -0,0 +1,103 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.events;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Combines the asynchronous vetoes of all listeners returned by {@link CaseOpeningEventListener#onCaseOpenAsync(CaseOpenEvent)}.
+ * All listeners are asked at once, so the total latency is that of the slowest check instead of the sum of all checks.
+ * The combined result completes with {@code true} as soon as one listener vetoes,
+ * and with {@code false} once all listeners allowed the open.
+ * Listeners that fail, return or complete with {@code null}, or do not answer within the timeout
+ * are treated according to the default decision.
+ */
+public class CaseOpenVetoPolicy {
+
+    private final Duration timeout;
+    private final boolean defaultVeto;
+
+    /**
+     * Constructs a new {@code CaseOpenVetoPolicy}.
+     *
+     * @param timeout The maximum time to wait for all listeners.
+     * @param defaultVeto The decision used for listeners that fail, answer {@code null} or time out,
+     *                    {@code true} to prevent the open, {@code false} to allow it.
+     */
+    public CaseOpenVetoPolicy(Duration timeout, boolean defaultVeto) {
+        if (timeout.isNegative()) throw new IllegalArgumentException("The timeout must not be negative");
+        this.timeout = timeout;
+        this.defaultVeto = defaultVeto;
+    }
+
+    /**
+     * Asks all listeners whether the open should be prevented.
+     *
+     * @param listeners The listeners to ask.
+     * @param event The event of the open attempt.
+     * @return A {@link CompletableFuture} that completes with {@code true} if the open is vetoed, {@code false} otherwise.
+     */
+    public CompletableFuture<Boolean> evaluate(Collection<? extends CaseOpeningEventListener> listeners, CaseOpenEvent event) {
+        if (listeners.isEmpty()) return CompletableFuture.completedFuture(false);
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(listeners.size());
+        for (CaseOpeningEventListener listener : listeners) {
+            CompletableFuture<Boolean> veto;
+            try {
+                veto = listener.onCaseOpenAsync(event);
+            } catch (RuntimeException e) {
+                veto = CompletableFuture.failedFuture(e);
+            }
+            if (veto == null) veto = CompletableFuture.completedFuture(null);
+
+            veto.whenComplete((vetoed, throwable) -> {
+                boolean decision = throwable != null || vetoed == null ? defaultVeto : vetoed;
+                if (decision) {
+                    result.complete(true);
+                } else if (pending.decrementAndGet() == 0) {
+                    result.complete(false);
+                }
+            });
+            if (result.isDone()) return result;
+        }
+        return result.completeOnTimeout(defaultVeto, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the maximum time to wait for all listeners.
+     *
+     * @return The timeout as a {@link Duration}.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Gets the decision used for listeners that fail, answer {@code null} or time out.
+     *
+     * @return {@code true} if such listeners prevent the open, {@code false} otherwise.
+     */
+    public boolean isDefaultVeto() {
+        return defaultVeto;
+    }
+}
\ No newline at end of file
@@ -17,6 +17,8 @@
  */
 package org.tommy.caseapi.events;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Listener interface for handling CaseOpening related events.
  */
@@ -30,6 +32,19 @@ public interface CaseOpeningEventListener {
      */
     void onCaseOpen(CaseOpenEvent event);
 
+    /**
+     * Called when a player attempts to open a case, after {@link #onCaseOpen(CaseOpenEvent)} did not cancel it.
+     * Unlike {@link #onCaseOpen(CaseOpenEvent)}, the decision can be made asynchronously, e.g. after a database lookup.
+     * The vetoes of all listeners are awaited in parallel, see {@link CaseOpenVetoPolicy}.
+     * The event must not be modified from this method.
+     *
+     * @param event The {@link CaseOpenEvent} instance.
+     * @return A {@link CompletableFuture} that completes with {@code true} to prevent the case from opening, {@code false} to allow it.
+     */
+    default CompletableFuture<Boolean> onCaseOpenAsync(CaseOpenEvent event) {
+        return CompletableFuture.completedFuture(false);
+    }
+
     /**
      * Called when a player has successfully completed opening a case.
      * This event is not cancelable.
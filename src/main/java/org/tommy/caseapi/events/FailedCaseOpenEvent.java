@@ -29,16 +29,29 @@ public class FailedCaseOpenEvent {
 
     private final UUID playerUuid;
     private final Case crate;
+    private final CaseOpenFailureReason reason;
 
     /**
-     * Constructs a new {@code FailedCaseOpenEvent}.
+     * Constructs a new {@code FailedCaseOpenEvent} with an {@link CaseOpenFailureReason#UNKNOWN} reason.
      *
      * @param playerUuid The UUID of the player who failed to open the case.
      * @param crate The case the player attempted to open.
      */
     public FailedCaseOpenEvent(UUID playerUuid, Case crate) {
+        this(playerUuid, crate, CaseOpenFailureReason.UNKNOWN);
+    }
+
+    /**
+     * Constructs a new {@code FailedCaseOpenEvent}.
+     *
+     * @param playerUuid The UUID of the player who failed to open the case.
+     * @param crate The case the player attempted to open.
+     * @param reason The reason the case could not be opened.
+     */
+    public FailedCaseOpenEvent(UUID playerUuid, Case crate, CaseOpenFailureReason reason) {
         this.playerUuid = playerUuid;
         this.crate = crate;
+        this.reason = reason;
     }
 
     /**
@@ -58,4 +71,13 @@ public class FailedCaseOpenEvent {
     public Case getCase() {
         return crate;
     }
+
+    /**
+     * Gets the reason the case could not be opened.
+     *
+     * @return The failure reason.
+     */
+    public CaseOpenFailureReason getReason() {
+        return reason;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.export;
+
+import java.util.Map;
+
+/**
+ * Defines the output formats of a {@link StatisticsExporter}.
+ */
+public enum ExportFormat {
+
+    /**
+     * One JSON object per line, e.g. {@code {"uuid":"...","jewelry":5,"totalCasesOpened":3,"cases":{"gold":2}}}.
+     */
+    NDJSON {
+        @Override
+        String header() {
+            return "";
+        }
+
+        @Override
+        void append(StringBuilder builder, PlayerStatistics statistics) {
+            builder.append("{\"uuid\":\"").append(statistics.getPlayerUuid())
+                    .append("\",\"jewelry\":").append(statistics.getJewelry())
+                    .append(",\"totalCasesOpened\":").append(statistics.getTotalCasesOpened())
+                    .append(",\"cases\":{");
+            boolean first = true;
+            for (Map.Entry<String, Integer> entry : statistics.getCases().entrySet()) {
+                if (!first) builder.append(',');
+                first = false;
+                builder.append('"');
+                appendJsonEscaped(builder, entry.getKey());
+                builder.append("\":").append(entry.getValue());
+            }
+            builder.append("}}\n");
+        }
+    },
+
+    /**
+     * Comma separated values with a header line. The case counts are combined into a single column
+     * of {@code caseId=amount} pairs separated by semicolons, quoted where necessary.
+     */
+    CSV {
+        @Override
+        String header() {
+            return "uuid,jewelry,total_cases_opened,cases\n";
+        }
+
+        @Override
+        void append(StringBuilder builder, PlayerStatistics statistics) {
+            builder.append(statistics.getPlayerUuid())
+                    .append(',').append(statistics.getJewelry())
+                    .append(',').append(statistics.getTotalCasesOpened())
+                    .append(',');
+
+            StringBuilder cases = new StringBuilder();
+            for (Map.Entry<String, Integer> entry : statistics.getCases().entrySet()) {
+                if (cases.length() > 0) cases.append(';');
+                cases.append(entry.getKey()).append('=').append(entry.getValue());
+            }
+            appendCsvField(builder, cases);
+            builder.append('\n');
+        }
+    };
+
+    /**
+     * Gets the text written once before all records.
+     */
+    abstract String header();
+
+    /**
+     * Appends a single record, including its line break.
+     */
+    abstract void append(StringBuilder builder, PlayerStatistics statistics);
+
+    private static void appendJsonEscaped(StringBuilder builder, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void appendCsvField(StringBuilder builder, CharSequence field) {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            builder.append(field);
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') builder.append('"');
+            builder.append(c);
+        }
+        builder.append('"');
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.export;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The jewelry, case counts and opening statistics of a single player at the time they were read.
+ */
+public class PlayerStatistics {
+
+    private final UUID playerUuid;
+    private final int jewelry;
+    private final Map<String, Integer> cases;
+    private final int totalCasesOpened;
+
+    /**
+     * Constructs a new {@code PlayerStatistics}.
+     *
+     * @param playerUuid The uuid of the player.
+     * @param jewelry The amount of jewelry the player owns.
+     * @param cases The number of cases the player owns, by case ID.
+     * @param totalCasesOpened The total number of cases opened by the player.
+     */
+    public PlayerStatistics(UUID playerUuid, int jewelry, Map<String, Integer> cases, int totalCasesOpened) {
+        this.playerUuid = playerUuid;
+        this.jewelry = jewelry;
+        this.cases = Map.copyOf(cases);
+        this.totalCasesOpened = totalCasesOpened;
+    }
+
+    /**
+     * Gets the uuid of the player.
+     *
+     * @return The player's UUID.
+     */
+    public UUID getPlayerUuid() {
+        return playerUuid;
+    }
+
+    /**
+     * Gets the amount of jewelry the player owns.
+     *
+     * @return The amount of jewelry.
+     */
+    public int getJewelry() {
+        return jewelry;
+    }
+
+    /**
+     * Gets the number of cases the player owns, by case ID. Cases the player owns none of may be missing.
+     *
+     * @return An unmodifiable map of case IDs to amounts.
+     */
+    public Map<String, Integer> getCases() {
+        return cases;
+    }
+
+    /**
+     * Gets the total number of cases opened by the player.
+     *
+     * @return The total number of opened cases.
+     */
+    public int getTotalCasesOpened() {
+        return totalCasesOpened;
+    }
+}
\ No newline at end of file
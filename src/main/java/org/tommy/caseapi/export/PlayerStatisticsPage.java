@@ -0,0 +1,68 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.export;
+
+import java.util.List;
+
+/**
+ * A chunk of {@link PlayerStatistics} returned by {@link PlayerStatisticsSource#getPlayerStatistics(long, int)},
+ * together with the cursor to continue from.
+ */
+public class PlayerStatisticsPage {
+
+    private final List<PlayerStatistics> statistics;
+    private final long nextCursor;
+
+    /**
+     * Constructs a new {@code PlayerStatisticsPage}.
+     *
+     * @param statistics The statistics of this page.
+     * @param nextCursor The cursor to request the next page with, or {@code -1} if this is the last page.
+     */
+    public PlayerStatisticsPage(List<PlayerStatistics> statistics, long nextCursor) {
+        this.statistics = List.copyOf(statistics);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the statistics of this page.
+     *
+     * @return An unmodifiable list of statistics.
+     */
+    public List<PlayerStatistics> getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Gets the cursor to request the next page with.
+     *
+     * @return The cursor, or {@code -1} if this is the last page.
+     */
+    public long getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks if this is the last page.
+     *
+     * @return {@code true} if there are no further pages, {@code false} otherwise.
+     */
+    public boolean isLast() {
+        return nextCursor < 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.export;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Optional capability of a {@link org.tommy.caseapi.CaseAPI} implementation to walk the whole player dataset in chunks,
+ * used by the {@link StatisticsExporter}. Check with {@code instanceof} whether the available implementation supports it.
+ */
+@FunctionalInterface
+public interface PlayerStatisticsSource {
+
+    /**
+     * The cursor of the first page.
+     */
+    long FIRST_PAGE = 0;
+
+    /**
+     * Gets the jewelry, case counts and opening statistics of up to {@code limit} players, starting at the given cursor.
+     * The cursor is opaque and the order of the players is up to the implementation, it only has to be stable
+     * while walking the pages. Players added or removed during the walk may or may not be included.
+     *
+     * @param cursor The cursor returned by the previous page, or {@link #FIRST_PAGE} to start with the first player.
+     * @param limit The maximum number of players to return, must be positive.
+     * @return A {@link CompletableFuture} that completes with the page of statistics.
+     */
+    CompletableFuture<PlayerStatisticsPage> getPlayerStatistics(long cursor, int limit);
+}
\ No newline at end of file
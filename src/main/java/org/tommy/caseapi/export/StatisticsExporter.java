@@ -0,0 +1,189 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the statistics of all players from a {@link PlayerStatisticsSource} into a channel, e.g. for economy reports.
+ * Players are fetched in chunks through {@link PlayerStatisticsSource#getPlayerStatistics(long, int)} and each chunk is written
+ * before the next one is requested, so only a single chunk and a fixed size buffer are held in memory.
+ * By default, exports run on a shared daemon thread with minimum priority and an optional delay between chunks,
+ * so they do not compete with opening cases.
+ */
+public class StatisticsExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PlayerStatisticsSource source;
+    private final int chunkSize;
+    private final Duration chunkDelay;
+    private final Executor executor;
+
+    /**
+     * Constructs a new {@code StatisticsExporter} running on the shared low priority export thread.
+     *
+     * @param source The source to read the statistics from, usually the {@link org.tommy.caseapi.CaseAPI} implementation.
+     * @param chunkSize The number of players fetched and written at once.
+     * @param chunkDelay The pause between two chunks, may be {@link Duration#ZERO}.
+     */
+    public StatisticsExporter(PlayerStatisticsSource source, int chunkSize, Duration chunkDelay) {
+        this(source, chunkSize, chunkDelay, LowPriorityExecutor.INSTANCE);
+    }
+
+    /**
+     * Constructs a new {@code StatisticsExporter}.
+     *
+     * @param source The source to read the statistics from, usually the {@link org.tommy.caseapi.CaseAPI} implementation.
+     * @param chunkSize The number of players fetched and written at once.
+     * @param chunkDelay The pause between two chunks, may be {@link Duration#ZERO}.
+     * @param executor The executor the chunks are encoded and written on.
+     */
+    public StatisticsExporter(PlayerStatisticsSource source, int chunkSize, Duration chunkDelay, Executor executor) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("The chunk size must be positive");
+        if (chunkDelay.isNegative()) throw new IllegalArgumentException("The chunk delay must not be negative");
+        this.source = source;
+        this.chunkSize = chunkSize;
+        this.chunkDelay = chunkDelay;
+        this.executor = executor;
+    }
+
+    /**
+     * Exports the statistics of all players in the given format. The channel must be blocking,
+     * it is not closed by the export. Cancelling the returned future stops the export after the current chunk.
+     *
+     * @param channel The channel to write the export to.
+     * @param format The format of the export.
+     * @return A {@link CompletableFuture} that completes with the number of exported players.
+     */
+    public CompletableFuture<Long> export(WritableByteChannel channel, ExportFormat format) {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        Export export = new Export(channel, format, result);
+        executor.execute(export::start);
+        return result;
+    }
+
+    private class Export {
+
+        private final WritableByteChannel channel;
+        private final ExportFormat format;
+        private final CompletableFuture<Long> result;
+        private final StringBuilder builder = new StringBuilder();
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private long exported;
+
+        private Export(WritableByteChannel channel, ExportFormat format, CompletableFuture<Long> result) {
+            this.channel = channel;
+            this.format = format;
+            this.result = result;
+        }
+
+        private void start() {
+            try {
+                builder.append(format.header());
+                write();
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            fetch(PlayerStatisticsSource.FIRST_PAGE);
+        }
+
+        private void fetch(long cursor) {
+            if (result.isDone()) return;
+            try {
+                source.getPlayerStatistics(cursor, chunkSize)
+                        .thenAcceptAsync(this::writePage, executor)
+                        .exceptionally(throwable -> {
+                            result.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null
+                                    ? throwable.getCause() : throwable);
+                            return null;
+                        });
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void writePage(PlayerStatisticsPage page) {
+            if (result.isDone()) return;
+            try {
+                for (PlayerStatistics statistics : page.getStatistics()) format.append(builder, statistics);
+                write();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            exported += page.getStatistics().size();
+
+            if (page.isLast()) {
+                result.complete(exported);
+                return;
+            }
+            long next = page.getNextCursor();
+            Executor nextExecutor = chunkDelay.isZero() ? executor
+                    : CompletableFuture.delayedExecutor(chunkDelay.toMillis(), TimeUnit.MILLISECONDS, executor);
+            nextExecutor.execute(() -> fetch(next));
+        }
+
+        /**
+         * Encodes the builder through the fixed size buffer into the channel and clears it afterward.
+         */
+        private void write() throws IOException {
+            CharBuffer chars = CharBuffer.wrap(builder);
+            encoder.reset();
+            CoderResult coderResult;
+            while ((coderResult = encoder.encode(chars, buffer, true)).isOverflow()) drain();
+            if (coderResult.isError()) coderResult.throwException();
+            while (encoder.flush(buffer).isOverflow()) drain();
+            drain();
+            builder.setLength(0);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+
+    private static final class LowPriorityExecutor {
+
+        private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CaseAPI-StatisticsExporter");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.intern;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe registry that maps case IDs to dense {@code int} ordinals, starting at {@code 0}.
+ * Ordinals are assigned on first use and never reused, so they can index arrays for the lifetime of the registry.
+ */
+public final class CaseOrdinals {
+
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile String[] caseIds = new String[0];
+
+    /**
+     * Gets the ordinal of a case ID, assigning the next free ordinal if the case ID is not known yet.
+     *
+     * @param caseId The ID of the case.
+     * @return The ordinal of the case.
+     */
+    public int intern(String caseId) {
+        Integer ordinal = ordinals.get(caseId);
+        if (ordinal != null) return ordinal;
+
+        synchronized (this) {
+            ordinal = ordinals.get(caseId);
+            if (ordinal != null) return ordinal;
+
+            String[] ids = Arrays.copyOf(caseIds, caseIds.length + 1);
+            int assigned = ids.length - 1;
+            ids[assigned] = caseId;
+            caseIds = ids;
+            ordinals.put(caseId, assigned);
+            return assigned;
+        }
+    }
+
+    /**
+     * Gets the ordinal of a case ID without assigning one.
+     *
+     * @param caseId The ID of the case.
+     * @return The ordinal of the case, or {@code -1} if the case ID is not known.
+     */
+    public int getOrdinal(String caseId) {
+        Integer ordinal = ordinals.get(caseId);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Gets the case ID of an ordinal.
+     *
+     * @param ordinal The ordinal of the case.
+     * @return The ID of the case, or {@code null} if the ordinal was not assigned.
+     */
+    public String getCaseId(int ordinal) {
+        String[] ids = caseIds;
+        return ordinal >= 0 && ordinal < ids.length ? ids[ordinal] : null;
+    }
+
+    /**
+     * Gets the number of assigned ordinals, which is also the next ordinal to be assigned.
+     *
+     * @return The number of known case IDs.
+     */
+    public int size() {
+        return caseIds.length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,268 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.intern;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Thread-safe store for the jewelry, case counts and opened cases of players.
+ * Players are interned to {@link PlayerSlots} and case IDs to {@link CaseOrdinals}, the values live in one
+ * {@link SlotIntArray} per column. The methods taking a {@link UUID} and a case ID are thin adapters
+ * over the slot and ordinal based methods, which can be used directly on hot paths.
+ * Unknown players and cases read as {@code 0} without being interned.
+ */
+public class PlayerCaseTable {
+
+    private final PlayerSlots playerSlots;
+    private final CaseOrdinals caseOrdinals = new CaseOrdinals();
+    private final SlotIntArray jewelry = new SlotIntArray();
+    private final SlotIntArray casesOpened = new SlotIntArray();
+    private volatile SlotIntArray[] caseColumns = new SlotIntArray[0];
+
+    /**
+     * Constructs a new {@code PlayerCaseTable} sized for 64 players.
+     */
+    public PlayerCaseTable() {
+        this(64);
+    }
+
+    /**
+     * Constructs a new {@code PlayerCaseTable}.
+     *
+     * @param expectedPlayers The number of players to size the table for, it grows if exceeded.
+     */
+    public PlayerCaseTable(int expectedPlayers) {
+        this.playerSlots = new PlayerSlots(expectedPlayers);
+    }
+
+    /**
+     * Gets the player slots of this table.
+     *
+     * @return The {@link PlayerSlots}.
+     */
+    public PlayerSlots getPlayerSlots() {
+        return playerSlots;
+    }
+
+    /**
+     * Gets the case ordinals of this table.
+     *
+     * @return The {@link CaseOrdinals}.
+     */
+    public CaseOrdinals getCaseOrdinals() {
+        return caseOrdinals;
+    }
+
+    /**
+     * Gets the amount of jewelry of a player.
+     *
+     * @param playerUuid The uuid of the player.
+     * @return The amount of jewelry.
+     */
+    public int getJewelry(UUID playerUuid) {
+        int slot = playerSlots.getSlot(playerUuid);
+        return slot < 0 ? 0 : jewelry.get(slot);
+    }
+
+    /**
+     * Atomically updates the amount of jewelry of a player.
+     *
+     * @param playerUuid The uuid of the player.
+     * @param function The function computing the new amount from the current one.
+     * @return The new amount of jewelry.
+     */
+    public int updateJewelry(UUID playerUuid, IntUnaryOperator function) {
+        return jewelry.update(playerSlots.acquire(playerUuid), function);
+    }
+
+    /**
+     * Atomically updates the amount of jewelry of a player if the player has a slot, without assigning one.
+     *
+     * @param playerUuid The uuid of the player.
+     * @param function The function computing the new amount from the current one.
+     * @return The new amount of jewelry, or {@code 0} if the player has no slot.
+     */
+    public int updateJewelryIfPresent(UUID playerUuid, IntUnaryOperator function) {
+        int slot = playerSlots.getSlot(playerUuid);
+        return slot < 0 ? 0 : jewelry.update(slot, function);
+    }
+
+    /**
+     * Gets the number of cases a player owns.
+     *
+     * @param playerUuid The uuid of the player.
+     * @param caseId The ID of the case.
+     * @return The number of cases.
+     */
+    public int getCases(UUID playerUuid, String caseId) {
+        int slot = playerSlots.getSlot(playerUuid);
+        int ordinal = caseOrdinals.getOrdinal(caseId);
+        return slot < 0 || ordinal < 0 ? 0 : getCases(slot, ordinal);
+    }
+
+    /**
+     * Gets the number of cases of an ordinal the player in a slot owns.
+     *
+     * @param slot The slot of the player.
+     * @param ordinal The ordinal of the case.
+     * @return The number of cases.
+     */
+    public int getCases(int slot, int ordinal) {
+        SlotIntArray[] columns = caseColumns;
+        return ordinal < columns.length ? columns[ordinal].get(slot) : 0;
+    }
+
+    /**
+     * Gets the number of cases a player owns of every case they own at least one of.
+     *
+     * @param playerUuid The uuid of the player.
+     * @return A new map of case IDs to amounts.
+     */
+    public Map<String, Integer> getCases(UUID playerUuid) {
+        int slot = playerSlots.getSlot(playerUuid);
+        if (slot < 0) return new HashMap<>();
+
+        SlotIntArray[] columns = caseColumns;
+        Map<String, Integer> cases = new HashMap<>();
+        for (int ordinal = 0; ordinal < columns.length; ordinal++) {
+            int amount = columns[ordinal].get(slot);
+            if (amount != 0) cases.put(caseOrdinals.getCaseId(ordinal), amount);
+        }
+        return cases;
+    }
+
+    /**
+     * Atomically updates the number of cases a player owns.
+     *
+     * @param playerUuid The uuid of the player.
+     * @param caseId The ID of the case.
+     * @param function The function computing the new number from the current one.
+     * @return The new number of cases.
+     */
+    public int updateCases(UUID playerUuid, String caseId, IntUnaryOperator function) {
+        return updateCases(playerSlots.acquire(playerUuid), caseOrdinals.intern(caseId), function);
+    }
+
+    /**
+     * Atomically updates the number of cases a player owns if both the player and the case are known,
+     * without interning either of them.
+     *
+     * @param playerUuid The uuid of the player.
+     * @param caseId The ID of the case.
+     * @param function The function computing the new number from the current one.
+     * @return The new number of cases, or {@code 0} if the player or the case is unknown.
+     */
+    public int updateCasesIfPresent(UUID playerUuid, String caseId, IntUnaryOperator function) {
+        int slot = playerSlots.getSlot(playerUuid);
+        int ordinal = caseOrdinals.getOrdinal(caseId);
+        return slot < 0 || ordinal < 0 ? 0 : updateCases(slot, ordinal, function);
+    }
+
+    /**
+     * Atomically updates the number of cases of an ordinal the player in a slot owns.
+     *
+     * @param slot The slot of the player.
+     * @param ordinal The ordinal of the case.
+     * @param function The function computing the new number from the current one.
+     * @return The new number of cases.
+     */
+    public int updateCases(int slot, int ordinal, IntUnaryOperator function) {
+        return getColumn(ordinal).update(slot, function);
+    }
+
+    /**
+     * Gets the number of cases opened by a player.
+     *
+     * @param playerUuid The uuid of the player.
+     * @return The number of opened cases.
+     */
+    public int getCasesOpened(UUID playerUuid) {
+        int slot = playerSlots.getSlot(playerUuid);
+        return slot < 0 ? 0 : casesOpened.get(slot);
+    }
+
+    /**
+     * Increments the number of cases opened by a player.
+     *
+     * @param playerUuid The uuid of the player.
+     * @return The new number of opened cases.
+     */
+    public int incrementCasesOpened(UUID playerUuid) {
+        return casesOpened.update(playerSlots.acquire(playerUuid), opened -> opened + 1);
+    }
+
+    /**
+     * Collects up to {@code limit} players in slot order, starting at the given slot. Free slots are skipped,
+     * so a page takes time proportional to the number of slots it covers and no index of players is needed.
+     * Slots released and reused while walking the players may be skipped or visited twice.
+     *
+     * @param fromSlot The first slot to look at.
+     * @param limit The maximum number of players to collect.
+     * @param players The list the player uuids are added to.
+     * @return The slot to continue with, or {@code -1} if all slots were visited.
+     */
+    public int collectPlayers(int fromSlot, int limit, List<UUID> players) {
+        int slotCount = playerSlots.getSlotCount();
+        int slot = fromSlot;
+        for (int collected = 0; slot < slotCount && collected < limit; slot++) {
+            UUID playerUuid = playerSlots.getUuid(slot);
+            if (playerUuid == null) continue;
+            players.add(playerUuid);
+            collected++;
+        }
+        return slot < slotCount ? slot : -1;
+    }
+
+    /**
+     * Clears all values of a player and releases their slot. The caller must make sure that
+     * no other thread accesses the player at the same time, e.g. by releasing them after they went offline.
+     *
+     * @param playerUuid The uuid of the player.
+     * @return {@code true} if the player had a slot, {@code false} otherwise.
+     */
+    public boolean release(UUID playerUuid) {
+        int slot = playerSlots.getSlot(playerUuid);
+        if (slot < 0) return false;
+
+        jewelry.set(slot, 0);
+        casesOpened.set(slot, 0);
+        for (SlotIntArray column : caseColumns) column.set(slot, 0);
+        return playerSlots.release(playerUuid) >= 0;
+    }
+
+    private SlotIntArray getColumn(int ordinal) {
+        SlotIntArray[] columns = caseColumns;
+        if (ordinal < columns.length) return columns[ordinal];
+
+        synchronized (this) {
+            columns = caseColumns;
+            if (ordinal >= columns.length) {
+                int length = columns.length;
+                columns = Arrays.copyOf(columns, ordinal + 1);
+                for (int i = length; i < columns.length; i++) columns[i] = new SlotIntArray();
+                caseColumns = columns;
+            }
+            return columns[ordinal];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.intern;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe registry that maps player uuids to compact {@code int} slots, starting at {@code 0}.
+ * The uuids are kept as pairs of {@code long} values in an open-addressing table, so no {@link UUID} instances are retained.
+ * Released slots are reused by the next acquired player, which keeps the slots dense for the online players.
+ * Lookups are optimistic and only take a lock if they overlap with a modification.
+ */
+public final class PlayerSlots {
+
+    private static final int EMPTY = 0;
+
+    private final StampedLock lock = new StampedLock();
+
+    // Open-addressing table with linear probing, entries hold the slot + 1 or EMPTY
+    private long[] keyMostBits;
+    private long[] keyLeastBits;
+    private int[] entries;
+
+    // Uuids by slot
+    private long[] slotMostBits;
+    private long[] slotLeastBits;
+    private boolean[] slotUsed;
+
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private int size;
+
+    /**
+     * Constructs a new {@code PlayerSlots} sized for 64 players.
+     */
+    public PlayerSlots() {
+        this(64);
+    }
+
+    /**
+     * Constructs a new {@code PlayerSlots}.
+     *
+     * @param expectedPlayers The number of players to size the table for, it grows if exceeded.
+     */
+    public PlayerSlots(int expectedPlayers) {
+        int tableSize = Integer.highestOneBit(Math.max(8, expectedPlayers) * 2 - 1) << 1;
+        this.keyMostBits = new long[tableSize];
+        this.keyLeastBits = new long[tableSize];
+        this.entries = new int[tableSize];
+        int slots = Math.max(8, expectedPlayers);
+        this.slotMostBits = new long[slots];
+        this.slotLeastBits = new long[slots];
+        this.slotUsed = new boolean[slots];
+    }
+
+    /**
+     * Gets the slot of a player, assigning a free slot if the player has none.
+     *
+     * @param playerUuid The uuid of the player.
+     * @return The slot of the player.
+     */
+    public int acquire(UUID playerUuid) {
+        int slot = getSlot(playerUuid);
+        if (slot >= 0) return slot;
+
+        long mostBits = playerUuid.getMostSignificantBits();
+        long leastBits = playerUuid.getLeastSignificantBits();
+        long stamp = lock.writeLock();
+        try {
+            slot = lookup(mostBits, leastBits);
+            if (slot >= 0) return slot;
+
+            if ((size + 1) * 2 > entries.length) rehash(entries.length * 2);
+            slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+            if (slot >= slotUsed.length) {
+                int capacity = slotUsed.length * 2;
+                slotMostBits = Arrays.copyOf(slotMostBits, capacity);
+                slotLeastBits = Arrays.copyOf(slotLeastBits, capacity);
+                slotUsed = Arrays.copyOf(slotUsed, capacity);
+            }
+            slotMostBits[slot] = mostBits;
+            slotLeastBits[slot] = leastBits;
+            slotUsed[slot] = true;
+            insert(mostBits, leastBits, slot);
+            size++;
+            return slot;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the slot of a player without assigning one.
+     *
+     * @param playerUuid The uuid of the player.
+     * @return The slot of the player, or {@code -1} if the player has no slot.
+     */
+    public int getSlot(UUID playerUuid) {
+        long mostBits = playerUuid.getMostSignificantBits();
+        long leastBits = playerUuid.getLeastSignificantBits();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            int slot = lookup(mostBits, leastBits);
+            if (lock.validate(stamp)) return slot;
+        }
+        stamp = lock.readLock();
+        try {
+            return lookup(mostBits, leastBits);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the uuid of the player holding a slot.
+     *
+     * @param slot The slot.
+     * @return The uuid of the player, or {@code null} if the slot is free.
+     */
+    public UUID getUuid(int slot) {
+        long stamp = lock.readLock();
+        try {
+            if (slot < 0 || slot >= slotCount || !slotUsed[slot]) return null;
+            return new UUID(slotMostBits[slot], slotLeastBits[slot]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Releases the slot of a player so it can be reused. The caller must make sure that the slot is
+     * no longer in use, e.g. by releasing it only after the player went offline and their data was cleared.
+     *
+     * @param playerUuid The uuid of the player.
+     * @return The released slot, or {@code -1} if the player had no slot.
+     */
+    public int release(UUID playerUuid) {
+        long mostBits = playerUuid.getMostSignificantBits();
+        long leastBits = playerUuid.getLeastSignificantBits();
+        long stamp = lock.writeLock();
+        try {
+            int mask = entries.length - 1;
+            for (int i = hash(mostBits, leastBits) & mask; entries[i] != EMPTY; i = (i + 1) & mask) {
+                if (keyMostBits[i] != mostBits || keyLeastBits[i] != leastBits) continue;
+
+                int slot = entries[i] - 1;
+                removeAt(i);
+                slotUsed[slot] = false;
+                if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+                freeSlots[freeCount++] = slot;
+                size--;
+                return slot;
+            }
+            return -1;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of players holding a slot.
+     *
+     * @return The number of players.
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of slots handed out so far, free or not. All slots are lower than this number.
+     *
+     * @return The number of slots.
+     */
+    public int getSlotCount() {
+        long stamp = lock.readLock();
+        try {
+            return slotCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Looks up a slot, tolerating a concurrently modified table during optimistic reads.
+     */
+    private int lookup(long mostBits, long leastBits) {
+        long[] mostKeys = keyMostBits;
+        long[] leastKeys = keyLeastBits;
+        int[] table = entries;
+        int length = table.length;
+        if (mostKeys.length != length || leastKeys.length != length) return -1;
+
+        int mask = length - 1;
+        for (int i = hash(mostBits, leastBits) & mask, probes = 0; probes < length; i = (i + 1) & mask, probes++) {
+            int entry = table[i];
+            if (entry == EMPTY) return -1;
+            if (mostKeys[i] == mostBits && leastKeys[i] == leastBits) return entry - 1;
+        }
+        return -1;
+    }
+
+    private void insert(long mostBits, long leastBits, int slot) {
+        int mask = entries.length - 1;
+        int i = hash(mostBits, leastBits) & mask;
+        while (entries[i] != EMPTY) i = (i + 1) & mask;
+        keyMostBits[i] = mostBits;
+        keyLeastBits[i] = leastBits;
+        entries[i] = slot + 1;
+    }
+
+    /**
+     * Removes an entry by shifting the following entries of its probe sequence back, so no tombstones are needed.
+     */
+    private void removeAt(int index) {
+        int mask = entries.length - 1;
+        int gap = index;
+        for (int i = (index + 1) & mask; entries[i] != EMPTY; i = (i + 1) & mask) {
+            int home = hash(keyMostBits[i], keyLeastBits[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keyMostBits[gap] = keyMostBits[i];
+                keyLeastBits[gap] = keyLeastBits[i];
+                entries[gap] = entries[i];
+                gap = i;
+            }
+        }
+        entries[gap] = EMPTY;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldMostBits = keyMostBits;
+        long[] oldLeastBits = keyLeastBits;
+        int[] oldEntries = entries;
+        keyMostBits = new long[tableSize];
+        keyLeastBits = new long[tableSize];
+        entries = new int[tableSize];
+        for (int i = 0; i < oldEntries.length; i++) {
+            if (oldEntries[i] != EMPTY) insert(oldMostBits[i], oldLeastBits[i], oldEntries[i] - 1);
+        }
+    }
+
+    private static int hash(long mostBits, long leastBits) {
+        long hash = mostBits * 31 + leastBits;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.intern;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Thread-safe, growable array of {@code int} values indexed by player slot, with {@code 0} as default value.
+ * Values are stored in pages of primitive arrays that are only allocated once a value in them is set.
+ */
+public final class SlotIntArray {
+
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private volatile int[][] pages = new int[0][];
+
+    /**
+     * Gets the value of a slot.
+     *
+     * @param slot The slot to read.
+     * @return The value, or {@code 0} if it was never set.
+     */
+    public int get(int slot) {
+        int[] page = getPage(slot);
+        return page == null ? 0 : (int) INTS.getVolatile(page, slot & PAGE_MASK);
+    }
+
+    /**
+     * Sets the value of a slot.
+     *
+     * @param slot The slot to write.
+     * @param value The new value.
+     */
+    public void set(int slot, int value) {
+        int[] page = value == 0 ? getPage(slot) : getOrCreatePage(slot);
+        if (page != null) INTS.setVolatile(page, slot & PAGE_MASK, value);
+    }
+
+    /**
+     * Atomically updates the value of a slot. The function may be called several times under contention.
+     *
+     * @param slot The slot to update.
+     * @param function The function computing the new value from the current one.
+     * @return The new value.
+     */
+    public int update(int slot, IntUnaryOperator function) {
+        int[] page = getOrCreatePage(slot);
+        int index = slot & PAGE_MASK;
+        while (true) {
+            int current = (int) INTS.getVolatile(page, index);
+            int updated = function.applyAsInt(current);
+            if (INTS.compareAndSet(page, index, current, updated)) return updated;
+        }
+    }
+
+    private int[] getPage(int slot) {
+        int[][] current = pages;
+        int pageIndex = slot >>> PAGE_SHIFT;
+        return pageIndex < current.length ? current[pageIndex] : null;
+    }
+
+    private int[] getOrCreatePage(int slot) {
+        int[] page = getPage(slot);
+        if (page != null) return page;
+
+        synchronized (this) {
+            int pageIndex = slot >>> PAGE_SHIFT;
+            int[][] current = Arrays.copyOf(pages, Math.max(pages.length, pageIndex + 1));
+            if (current[pageIndex] == null) current[pageIndex] = new int[PAGE_SIZE];
+            pages = current;
+            return current[pageIndex];
+        }
+    }
+}
\ No newline at end of file
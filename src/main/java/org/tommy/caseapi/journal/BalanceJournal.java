@@ -0,0 +1,427 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.journal;
+
+import org.tommy.caseapi.utils.BufferUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Local durability layer for jewelry balances, case counts and case opening counters.
+ * Every mutation is appended to a write-ahead log before it is applied in memory, so it survives a crash.
+ * The state is periodically written to a snapshot, after which the log is cleared.
+ * On startup, the snapshot is read in one piece and only the log records written after it are replayed.
+ * Snapshots are written and read through a heap buffer rather than a memory mapping, because a mapped view
+ * is only released by the garbage collector and keeps the file from being replaced on Windows.
+ * A torn record at the end of the log, left by a crash during a write, is discarded.
+ * If a record cannot be written, the log is truncated back to the end of the previous record.
+ * If even that fails, the journal is marked as failed and rejects all further mutations.
+ * All methods are thread-safe.
+ */
+public class BalanceJournal implements AutoCloseable {
+
+    private static final String LOG_FILE = "balances.wal";
+    private static final String SNAPSHOT_FILE = "balances.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x43414A53;
+    private static final byte SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_SIZE = 4 + 1 + 8 + 4;
+    private static final int RECORD_BASE_SIZE = 4 + 8 + 1 + 16 + 4 + 4;
+
+    private final Path directory;
+    private final FileChannel log;
+    private final boolean forceWrites;
+    private final int snapshotThreshold;
+    private final BalanceState state = new BalanceState();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer recordBuffer = ByteBuffer.allocate(256);
+    private long sequence;
+    private int recordsSinceSnapshot;
+    private IOException failure;
+    private IOException snapshotFailure;
+
+    /**
+     * Opens a journal and recovers its state from the snapshot and the log.
+     *
+     * @param directory The directory the log and the snapshot are stored in, created if it does not exist.
+     * @param forceWrites {@code true} to force every record to the storage device before the mutation returns,
+     *                    {@code false} to leave flushing to the operating system, which only protects against process crashes.
+     * @param snapshotThreshold The number of log records after which a snapshot is taken automatically,
+     *                          or {@code 0} to only take snapshots through {@link #snapshot()}.
+     * @throws IOException If the files cannot be opened or the snapshot is corrupt.
+     */
+    public BalanceJournal(Path directory, boolean forceWrites, int snapshotThreshold) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.forceWrites = forceWrites;
+        this.snapshotThreshold = snapshotThreshold;
+        this.sequence = loadSnapshot(directory.resolve(SNAPSHOT_FILE));
+        this.log = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        replayLog();
+    }
+
+    /**
+     * Sets the amount of jewelry a player has.
+     *
+     * @param playerUuid The uuid of the player whose jewelry amount will be set.
+     * @param amount The amount of jewelry to set.
+     * @throws IOException If the mutation cannot be written to the log.
+     * @throws IllegalArgumentException If the amount is negative.
+     */
+    public synchronized void setJewelry(UUID playerUuid, int amount) throws IOException {
+        checkAmount(amount);
+        record(BalanceState.SET_JEWELRY, playerUuid, null, amount);
+    }
+
+    /**
+     * Adds a specific amount of jewelry to the given player. The balance saturates at {@link Integer#MAX_VALUE}.
+     *
+     * @param playerUuid The uuid of the player to receive the jewelry.
+     * @param amount The amount of jewelry to add.
+     * @throws IOException If the mutation cannot be written to the log.
+     * @throws IllegalArgumentException If the amount is negative.
+     */
+    public synchronized void addJewelry(UUID playerUuid, int amount) throws IOException {
+        checkAmount(amount);
+        record(BalanceState.ADD_JEWELRY, playerUuid, null, amount);
+    }
+
+    /**
+     * Removes a specific amount of jewelry from the given player. The balance does not drop below zero.
+     *
+     * @param playerUuid The uuid of the player whose jewelry will be removed.
+     * @param amount The amount of jewelry to remove.
+     * @throws IOException If the mutation cannot be written to the log.
+     * @throws IllegalArgumentException If the amount is negative.
+     */
+    public synchronized void removeJewelry(UUID playerUuid, int amount) throws IOException {
+        checkAmount(amount);
+        record(BalanceState.REMOVE_JEWELRY, playerUuid, null, amount);
+    }
+
+    /**
+     * Sets the amount of a specific case a player has.
+     *
+     * @param playerUuid The uuid of the player whose cases will be set.
+     * @param caseId The ID of the case to set.
+     * @param amount The amount of cases to set.
+     * @throws IOException If the mutation cannot be written to the log.
+     * @throws IllegalArgumentException If the amount is negative.
+     */
+    public synchronized void setCases(UUID playerUuid, String caseId, int amount) throws IOException {
+        checkAmount(amount);
+        record(BalanceState.SET_CASES, playerUuid, caseId, amount);
+    }
+
+    /**
+     * Adds a specified number of cases to a player. The amount saturates at {@link Integer#MAX_VALUE}.
+     *
+     * @param playerUuid The uuid of the player receiving the cases.
+     * @param caseId The ID of the case to add.
+     * @param amount The number of cases to add.
+     * @throws IOException If the mutation cannot be written to the log.
+     * @throws IllegalArgumentException If the amount is negative.
+     */
+    public synchronized void addCases(UUID playerUuid, String caseId, int amount) throws IOException {
+        checkAmount(amount);
+        record(BalanceState.ADD_CASES, playerUuid, caseId, amount);
+    }
+
+    /**
+     * Removes a specified number of cases from a player. The amount does not drop below zero.
+     *
+     * @param playerUuid The uuid of the player losing the cases.
+     * @param caseId The ID of the case to remove.
+     * @param amount The number of cases to remove.
+     * @throws IOException If the mutation cannot be written to the log.
+     * @throws IllegalArgumentException If the amount is negative.
+     */
+    public synchronized void removeCases(UUID playerUuid, String caseId, int amount) throws IOException {
+        checkAmount(amount);
+        record(BalanceState.REMOVE_CASES, playerUuid, caseId, amount);
+    }
+
+    /**
+     * Counts a case opened by a player, for both the player's and the global counter.
+     *
+     * @param playerUuid The uuid of the player who opened the case.
+     * @throws IOException If the mutation cannot be written to the log.
+     */
+    public synchronized void recordCaseOpened(UUID playerUuid) throws IOException {
+        record(BalanceState.CASE_OPENED, playerUuid, null, 1);
+    }
+
+    /**
+     * Retrieves the current amount of jewelry owned by the given player.
+     *
+     * @param playerUuid The uuid of the player whose jewelry amount is requested.
+     * @return The current amount of jewelry the player owns.
+     */
+    public synchronized int getJewelry(UUID playerUuid) {
+        return state.getJewelry(playerUuid);
+    }
+
+    /**
+     * Gets the number of a specific case a player owns.
+     *
+     * @param playerUuid The uuid of the player whose case count is retrieved.
+     * @param caseId The ID of the case.
+     * @return The number of cases the player owns.
+     */
+    public synchronized int getPlayerCases(UUID playerUuid, String caseId) {
+        return state.getCases(playerUuid, caseId);
+    }
+
+    /**
+     * Gets the total number of cases opened globally.
+     *
+     * @return The total number of opened cases.
+     */
+    public synchronized long getTotalCasesOpened() {
+        return state.getTotalCasesOpened();
+    }
+
+    /**
+     * Gets the total number of cases opened by a specific player.
+     *
+     * @param playerUuid The uuid of the player whose case opening count is retrieved.
+     * @return The total number of cases opened by the player.
+     */
+    public synchronized int getTotalCasesOpenedByPlayer(UUID playerUuid) {
+        return state.getCasesOpened(playerUuid);
+    }
+
+    /**
+     * Writes the current state to a new snapshot and clears the log.
+     * The snapshot is written to a temporary file first and then moved into place,
+     * so a crash during the snapshot leaves the previous snapshot and the log intact.
+     *
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public synchronized void snapshot() throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        int size = SNAPSHOT_HEADER_SIZE + state.maxSerializedSize() + 4;
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            buffer.putInt(SNAPSHOT_MAGIC);
+            buffer.put(SNAPSHOT_VERSION);
+            buffer.putLong(sequence);
+            buffer.putInt(0);
+            state.write(buffer);
+
+            int contentLength = buffer.position() - SNAPSHOT_HEADER_SIZE;
+            buffer.putInt(SNAPSHOT_HEADER_SIZE - 4, contentLength);
+            crc.reset();
+            crc.update(buffer.slice(SNAPSHOT_HEADER_SIZE, contentLength));
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // The rename must be durable before the log is cleared, otherwise a power loss could revert it
+        if (forceWrites) forceDirectory();
+
+        // Records up to the snapshot sequence are skipped on replay, so a crash before this point is harmless.
+        log.truncate(0);
+        log.position(0);
+        log.force(true);
+        recordsSinceSnapshot = 0;
+        snapshotFailure = null;
+    }
+
+    /**
+     * Gets the exception of the last automatic snapshot, if it failed.
+     * Failed automatic snapshots do not fail the mutation that triggered them, as the mutation is already logged.
+     * They are retried with the next mutation until a snapshot succeeds.
+     *
+     * @return The exception of the last failed automatic snapshot, or {@code null} if the last snapshot succeeded.
+     */
+    public synchronized IOException getSnapshotFailure() {
+        return snapshotFailure;
+    }
+
+    /**
+     * Gets the number of log records written since the last snapshot.
+     * This is the number of records that would be replayed on the next start.
+     *
+     * @return The number of records since the last snapshot.
+     */
+    public synchronized int getRecordsSinceSnapshot() {
+        return recordsSinceSnapshot;
+    }
+
+    /**
+     * Forces all pending records to the storage device and closes the log.
+     *
+     * @throws IOException If the log cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!log.isOpen()) return;
+        log.force(true);
+        log.close();
+    }
+
+    private void record(byte operation, UUID playerUuid, String caseId, int amount) throws IOException {
+        if (failure != null) throw new IOException("The journal failed and rejects further mutations", failure);
+
+        boolean withCaseId = BalanceState.hasCaseId(operation);
+        int size = RECORD_BASE_SIZE + (withCaseId ? 5 + BufferUtil.utf8Length(caseId) : 0);
+        if (recordBuffer.capacity() < size) recordBuffer = ByteBuffer.allocate(size);
+
+        ByteBuffer buffer = recordBuffer.clear();
+        buffer.putInt(0);
+        buffer.putLong(sequence + 1);
+        buffer.put(operation);
+        BufferUtil.writeUuid(buffer, playerUuid);
+        if (withCaseId) BufferUtil.writeString(buffer, caseId);
+        buffer.putInt(amount);
+
+        int bodyLength = buffer.position() - 4;
+        buffer.putInt(0, bodyLength);
+        crc.reset();
+        crc.update(buffer.slice(4, bodyLength));
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        long start = log.position();
+        try {
+            while (buffer.hasRemaining()) log.write(buffer);
+            if (forceWrites) log.force(false);
+        } catch (IOException e) {
+            discardFrom(start, e);
+            throw e;
+        }
+
+        sequence++;
+        state.apply(operation, playerUuid, caseId, amount);
+        recordsSinceSnapshot++;
+        if (snapshotThreshold > 0 && recordsSinceSnapshot >= snapshotThreshold) {
+            try {
+                snapshot();
+            } catch (IOException e) {
+                snapshotFailure = e;
+            }
+        }
+    }
+
+    private static void checkAmount(int amount) {
+        if (amount < 0) throw new IllegalArgumentException("The amount must not be negative");
+    }
+
+    /**
+     * Removes the bytes of a record that could not be written completely, so later records are not appended
+     * after a torn one, which would make the replay stop before them.
+     */
+    private void discardFrom(long start, IOException cause) {
+        try {
+            log.truncate(start);
+            log.position(start);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            failure = cause;
+        }
+    }
+
+    private void forceDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened or forced on every platform, e.g. on Windows, where renames are durable anyway
+            if (!System.getProperty("os.name", "").startsWith("Windows")) throw e;
+        }
+    }
+
+    private long loadSnapshot(Path snapshot) throws IOException {
+        if (!Files.exists(snapshot)) return 0;
+
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer buffer = readFully(channel);
+            if (buffer.remaining() < SNAPSHOT_HEADER_SIZE || buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a balance snapshot: " + snapshot);
+            }
+            byte version = buffer.get();
+            if (version != SNAPSHOT_VERSION) throw new IOException("Unsupported snapshot version " + version);
+            long snapshotSequence = buffer.getLong();
+            int contentLength = buffer.getInt();
+            if (contentLength < 0 || contentLength + 4 > buffer.remaining()) {
+                throw new IOException("Snapshot is truncated: " + snapshot);
+            }
+
+            ByteBuffer content = buffer.slice(SNAPSHOT_HEADER_SIZE, contentLength);
+            crc.reset();
+            crc.update(content.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(SNAPSHOT_HEADER_SIZE + contentLength)) {
+                throw new IOException("Snapshot checksum mismatch: " + snapshot);
+            }
+            state.read(content);
+            return snapshotSequence;
+        }
+    }
+
+    private void replayLog() throws IOException {
+        long size = log.size();
+        ByteBuffer buffer = readFully(log);
+
+        long snapshotSequence = sequence;
+        int validEnd = 0;
+        while (buffer.remaining() >= 4) {
+            int bodyLength = buffer.getInt();
+            if (bodyLength <= 0 || bodyLength + 4 > buffer.remaining()) break;
+
+            ByteBuffer body = buffer.slice(buffer.position(), bodyLength);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(buffer.position() + bodyLength)) break;
+            buffer.position(buffer.position() + bodyLength + 4);
+
+            long recordSequence = body.getLong();
+            byte operation = body.get();
+            UUID playerUuid = BufferUtil.readUuid(body);
+            String caseId = BalanceState.hasCaseId(operation) ? BufferUtil.readString(body) : null;
+            int amount = body.getInt();
+            if (recordSequence > snapshotSequence) {
+                state.apply(operation, playerUuid, caseId, amount);
+                sequence = recordSequence;
+                recordsSinceSnapshot++;
+            }
+            validEnd = buffer.position();
+        }
+
+        if (validEnd < size) log.truncate(validEnd);
+        log.position(validEnd);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) break;
+        }
+        return buffer.flip();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.journal;
+
+import org.tommy.caseapi.utils.BufferUtil;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory balances and counters of a {@link BalanceJournal}. Not thread-safe, guarded by the journal.
+ * Balances never become negative, removing more than a player owns leaves zero,
+ * and additions saturate at {@link Integer#MAX_VALUE} instead of overflowing.
+ */
+final class BalanceState {
+
+    static final byte SET_JEWELRY = 1;
+    static final byte ADD_JEWELRY = 2;
+    static final byte REMOVE_JEWELRY = 3;
+    static final byte SET_CASES = 4;
+    static final byte ADD_CASES = 5;
+    static final byte REMOVE_CASES = 6;
+    static final byte CASE_OPENED = 7;
+
+    private final Map<UUID, Integer> jewelry = new HashMap<>();
+    private final Map<UUID, Map<String, Integer>> cases = new HashMap<>();
+    private final Map<UUID, Integer> casesOpened = new HashMap<>();
+    private long totalCasesOpened;
+
+    /**
+     * Applies a journal operation. Replaying the same operations in the same order always yields the same state.
+     */
+    void apply(byte operation, UUID playerUuid, String caseId, int amount) {
+        switch (operation) {
+            case SET_JEWELRY -> putOrRemove(jewelry, playerUuid, amount);
+            case ADD_JEWELRY -> putOrRemove(jewelry, playerUuid, saturatedAdd(jewelry.getOrDefault(playerUuid, 0), amount));
+            case REMOVE_JEWELRY -> putOrRemove(jewelry, playerUuid, jewelry.getOrDefault(playerUuid, 0) - amount);
+            case SET_CASES -> setCases(playerUuid, caseId, amount);
+            case ADD_CASES -> setCases(playerUuid, caseId, saturatedAdd(getCases(playerUuid, caseId), amount));
+            case REMOVE_CASES -> setCases(playerUuid, caseId, getCases(playerUuid, caseId) - amount);
+            case CASE_OPENED -> {
+                casesOpened.merge(playerUuid, amount, BalanceState::saturatedAdd);
+                totalCasesOpened += amount;
+            }
+            default -> throw new IllegalArgumentException("Unknown journal operation " + operation);
+        }
+    }
+
+    static boolean hasCaseId(byte operation) {
+        return operation == SET_CASES || operation == ADD_CASES || operation == REMOVE_CASES;
+    }
+
+    int getJewelry(UUID playerUuid) {
+        return jewelry.getOrDefault(playerUuid, 0);
+    }
+
+    int getCases(UUID playerUuid, String caseId) {
+        Map<String, Integer> playerCases = cases.get(playerUuid);
+        return playerCases == null ? 0 : playerCases.getOrDefault(caseId, 0);
+    }
+
+    int getCasesOpened(UUID playerUuid) {
+        return casesOpened.getOrDefault(playerUuid, 0);
+    }
+
+    long getTotalCasesOpened() {
+        return totalCasesOpened;
+    }
+
+    /**
+     * Calculates an upper bound of the size {@link #write(ByteBuffer)} needs.
+     */
+    int maxSerializedSize() {
+        int size = 8 + 5 * 3 + (jewelry.size() + casesOpened.size()) * (16 + 5);
+        for (Map<String, Integer> playerCases : cases.values()) {
+            size += 16 + 5;
+            for (String caseId : playerCases.keySet()) size += 5 + BufferUtil.utf8Length(caseId) + 5;
+        }
+        return size;
+    }
+
+    void write(ByteBuffer buffer) {
+        buffer.putLong(totalCasesOpened);
+        writeAmounts(buffer, jewelry);
+        writeAmounts(buffer, casesOpened);
+        BufferUtil.writeVarInt(buffer, cases.size());
+        for (Map.Entry<UUID, Map<String, Integer>> entry : cases.entrySet()) {
+            BufferUtil.writeUuid(buffer, entry.getKey());
+            BufferUtil.writeVarInt(buffer, entry.getValue().size());
+            for (Map.Entry<String, Integer> caseEntry : entry.getValue().entrySet()) {
+                BufferUtil.writeString(buffer, caseEntry.getKey());
+                BufferUtil.writeVarInt(buffer, caseEntry.getValue());
+            }
+        }
+    }
+
+    void read(ByteBuffer buffer) {
+        totalCasesOpened = buffer.getLong();
+        readAmounts(buffer, jewelry);
+        readAmounts(buffer, casesOpened);
+        int players = BufferUtil.readVarInt(buffer);
+        for (int i = 0; i < players; i++) {
+            UUID playerUuid = BufferUtil.readUuid(buffer);
+            int playerCaseCount = BufferUtil.readVarInt(buffer);
+            Map<String, Integer> playerCases = new HashMap<>(playerCaseCount * 2);
+            for (int j = 0; j < playerCaseCount; j++) {
+                playerCases.put(BufferUtil.readString(buffer), BufferUtil.readVarInt(buffer));
+            }
+            cases.put(playerUuid, playerCases);
+        }
+    }
+
+    private void setCases(UUID playerUuid, String caseId, int amount) {
+        if (amount > 0) {
+            cases.computeIfAbsent(playerUuid, uuid -> new HashMap<>()).put(caseId, amount);
+            return;
+        }
+        Map<String, Integer> playerCases = cases.get(playerUuid);
+        if (playerCases == null) return;
+        playerCases.remove(caseId);
+        if (playerCases.isEmpty()) cases.remove(playerUuid);
+    }
+
+    private static int saturatedAdd(int current, int amount) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, (long) current + amount));
+    }
+
+    private static void putOrRemove(Map<UUID, Integer> amounts, UUID playerUuid, int amount) {
+        if (amount > 0) {
+            amounts.put(playerUuid, amount);
+        } else {
+            amounts.remove(playerUuid);
+        }
+    }
+
+    private static void writeAmounts(ByteBuffer buffer, Map<UUID, Integer> amounts) {
+        BufferUtil.writeVarInt(buffer, amounts.size());
+        for (Map.Entry<UUID, Integer> entry : amounts.entrySet()) {
+            BufferUtil.writeUuid(buffer, entry.getKey());
+            BufferUtil.writeVarInt(buffer, entry.getValue());
+        }
+    }
+
+    private static void readAmounts(ByteBuffer buffer, Map<UUID, Integer> amounts) {
+        int count = BufferUtil.readVarInt(buffer);
+        for (int i = 0; i < count; i++) {
+            amounts.put(BufferUtil.readUuid(buffer), BufferUtil.readVarInt(buffer));
+        }
+    }
+}
\ No newline at end of file
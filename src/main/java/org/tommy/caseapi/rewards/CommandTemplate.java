@@ -0,0 +1,128 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.rewards;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A command of a {@link org.tommy.caseapi.models.CaseRewardType#COMMAND} reward, compiled into literal segments and placeholder slots.
+ * Supported placeholders are {@code %player%}, {@code %uuid%} and {@code %case%}.
+ * A leading slash is removed while compiling, so the rendered command can be dispatched directly.
+ */
+public final class CommandTemplate {
+
+    private static final String[] PLACEHOLDERS = {"%player%", "%uuid%", "%case%"};
+    private static final int PLAYER = 0;
+    private static final int UUID_SLOT = 1;
+    private static final int CASE = 2;
+    private static final int UUID_LENGTH = 36;
+
+    private final String source;
+    private final String[] literals;
+    private final int[] slots;
+    private final int literalLength;
+    private final int[] slotCounts = new int[PLACEHOLDERS.length];
+
+    private CommandTemplate(String source, String[] literals, int[] slots) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+        for (int slot : slots) slotCounts[slot]++;
+    }
+
+    /**
+     * Compiles a command into a template.
+     *
+     * @param command The raw command as returned by {@link org.tommy.caseapi.models.CaseReward#getCommand()}.
+     * @return The compiled {@link CommandTemplate}.
+     */
+    public static CommandTemplate compile(String command) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int start = command.startsWith("/") ? 1 : 0;
+        int literalStart = start;
+        int i = start;
+        while (i < command.length()) {
+            int slot = command.charAt(i) == '%' ? placeholderAt(command, i) : -1;
+            if (slot < 0) {
+                i++;
+                continue;
+            }
+            literals.add(command.substring(literalStart, i));
+            slots.add(slot);
+            i += PLACEHOLDERS[slot].length();
+            literalStart = i;
+        }
+        literals.add(command.substring(literalStart));
+
+        int[] slotArray = new int[slots.size()];
+        for (int j = 0; j < slotArray.length; j++) slotArray[j] = slots.get(j);
+        return new CommandTemplate(command, literals.toArray(new String[0]), slotArray);
+    }
+
+    /**
+     * Renders the command for a specific grant.
+     *
+     * @param playerName The name of the player who won the reward.
+     * @param playerUuid The uuid of the player who won the reward.
+     * @param caseId The ID of the case the reward was won from.
+     * @return The command with all placeholders replaced.
+     */
+    public String render(String playerName, UUID playerUuid, String caseId) {
+        if (slots.length == 0) return literals[0];
+
+        String uuid = slotCounts[UUID_SLOT] > 0 ? playerUuid.toString() : null;
+        int length = literalLength
+                + slotCounts[PLAYER] * playerName.length()
+                + slotCounts[UUID_SLOT] * UUID_LENGTH
+                + slotCounts[CASE] * caseId.length();
+
+        StringBuilder builder = new StringBuilder(length);
+        builder.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            switch (slots[i]) {
+                case PLAYER -> builder.append(playerName);
+                case UUID_SLOT -> builder.append(uuid);
+                default -> builder.append(caseId);
+            }
+            builder.append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets the raw command this template was compiled from.
+     *
+     * @return The raw command as a {@link String}.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    private static int placeholderAt(String command, int index) {
+        for (int slot = 0; slot < PLACEHOLDERS.length; slot++) {
+            if (command.startsWith(PLACEHOLDERS[slot], index)) return slot;
+        }
+        return -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.rewards;
+
+import org.tommy.caseapi.models.CaseReward;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Caches one compiled {@link CommandTemplate} per {@link CaseReward} instance.
+ * Rewards are identified by reference, independent of how an implementation defines {@code equals} and {@code hashCode}.
+ * Changes to the command of a cached reward are not detected, the cache has to be invalidated
+ * whenever the case catalog is reloaded or a reward is edited, which also keeps templates of removed rewards from staying in memory.
+ * Lookups read an immutable map without locking, only compiling a template copies the map.
+ * A template compiled while the cache is invalidated is returned to its caller but not cached.
+ */
+public class CommandTemplateCache {
+
+    private volatile Map<CaseReward, CommandTemplate> templates = new IdentityHashMap<>();
+    // Bumped by every invalidation, so templates compiled from a command read before it are not cached
+    private volatile long generation;
+
+    /**
+     * Gets the compiled template of a reward, compiling it on first use.
+     *
+     * @param caseReward The reward whose command template is requested.
+     * @return The {@link CommandTemplate}, or {@code null} if the reward has no command.
+     */
+    public CommandTemplate getTemplate(CaseReward caseReward) {
+        CommandTemplate cached = templates.get(caseReward);
+        if (cached != null) return cached;
+
+        long startGeneration = generation;
+        String command = caseReward.getCommand();
+        if (command == null) return null;
+
+        CommandTemplate template = CommandTemplate.compile(command);
+        synchronized (this) {
+            CommandTemplate existing = templates.get(caseReward);
+            if (existing != null) return existing;
+            if (generation != startGeneration) return template;
+
+            Map<CaseReward, CommandTemplate> updated = new IdentityHashMap<>(templates);
+            updated.put(caseReward, template);
+            templates = updated;
+            return template;
+        }
+    }
+
+    /**
+     * Renders the command of a reward for a specific grant.
+     *
+     * @param caseReward The reward whose command is rendered.
+     * @param playerName The name of the player who won the reward.
+     * @param playerUuid The uuid of the player who won the reward.
+     * @param caseId The ID of the case the reward was won from.
+     * @return The rendered command, or {@code null} if the reward has no command.
+     */
+    public String render(CaseReward caseReward, String playerName, UUID playerUuid, String caseId) {
+        CommandTemplate template = getTemplate(caseReward);
+        return template == null ? null : template.render(playerName, playerUuid, caseId);
+    }
+
+    /**
+     * Removes the cached template of a single reward.
+     *
+     * @param caseReward The reward whose template is removed.
+     */
+    public synchronized void invalidate(CaseReward caseReward) {
+        generation++;
+        if (!templates.containsKey(caseReward)) return;
+
+        Map<CaseReward, CommandTemplate> updated = new IdentityHashMap<>(templates);
+        updated.remove(caseReward);
+        templates = updated;
+    }
+
+    /**
+     * Removes all cached templates. Should be called whenever the case catalog changes.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        templates = new IdentityHashMap<>();
+    }
+}
\ No newline at end of file
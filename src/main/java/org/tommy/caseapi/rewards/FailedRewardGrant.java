@@ -0,0 +1,111 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.rewards;
+
+import org.tommy.caseapi.models.Case;
+import org.tommy.caseapi.models.CaseReward;
+
+import java.util.UUID;
+
+/**
+ * Describes a grant of a {@link RewardGrantPipeline} whose handler call failed, so that it can be logged or compensated.
+ * A merged currency grant carries the money and gems that were not granted yet and no reward,
+ * a command or permission grant carries its reward and no currency.
+ */
+public class FailedRewardGrant {
+
+    private final UUID playerUuid;
+    private final double money;
+    private final int gems;
+    private final Case crate;
+    private final CaseReward caseReward;
+    private final int attempts;
+
+    /**
+     * Constructs a new {@code FailedRewardGrant}.
+     *
+     * @param playerUuid The uuid of the player the grant was for.
+     * @param money The amount of money that was not granted.
+     * @param gems The amount of gems that were not granted.
+     * @param crate The case the reward was won from, or {@code null} for a currency grant.
+     * @param caseReward The reward that was not granted, or {@code null} for a currency grant.
+     * @param attempts The number of failed attempts so far.
+     */
+    public FailedRewardGrant(UUID playerUuid, double money, int gems, Case crate, CaseReward caseReward, int attempts) {
+        this.playerUuid = playerUuid;
+        this.money = money;
+        this.gems = gems;
+        this.crate = crate;
+        this.caseReward = caseReward;
+        this.attempts = attempts;
+    }
+
+    /**
+     * Gets the uuid of the player the grant was for.
+     *
+     * @return The player's UUID.
+     */
+    public UUID getPlayerUuid() {
+        return playerUuid;
+    }
+
+    /**
+     * Gets the amount of money that was not granted.
+     *
+     * @return The amount of money, {@code 0} if none is missing.
+     */
+    public double getMoney() {
+        return money;
+    }
+
+    /**
+     * Gets the amount of gems that were not granted.
+     *
+     * @return The amount of gems, {@code 0} if none are missing.
+     */
+    public int getGems() {
+        return gems;
+    }
+
+    /**
+     * Gets the case the reward was won from.
+     *
+     * @return The case, or {@code null} for a currency grant.
+     */
+    public Case getCase() {
+        return crate;
+    }
+
+    /**
+     * Gets the command or permission reward that was not granted.
+     *
+     * @return The reward, or {@code null} for a currency grant.
+     */
+    public CaseReward getCaseReward() {
+        return caseReward;
+    }
+
+    /**
+     * Gets the number of failed attempts so far, including the one that is reported.
+     *
+     * @return The number of failed attempts.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.rewards;
+
+import org.tommy.caseapi.models.Case;
+import org.tommy.caseapi.models.CaseReward;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Performs the actual granting of rewards drained from a {@link RewardGrantPipeline}.
+ * All methods are called on the thread that drains the pipeline, usually the main server thread.
+ */
+public interface RewardGrantHandler {
+
+    /**
+     * Deposits money to a player.
+     * Multiple money rewards for the same player may have been merged into a single call.
+     *
+     * @param playerUuid The uuid of the player receiving the money.
+     * @param amount The total amount of money to deposit.
+     */
+    void grantMoney(UUID playerUuid, double amount);
+
+    /**
+     * Adds gems to a player.
+     * Multiple gems rewards for the same player may have been merged into a single call.
+     *
+     * @param playerUuid The uuid of the player receiving the gems.
+     * @param amount The total amount of gems to add.
+     */
+    void grantGems(UUID playerUuid, int amount);
+
+    /**
+     * Executes the command of a {@link org.tommy.caseapi.models.CaseRewardType#COMMAND} reward.
+     * The command can be rendered with a {@link CommandTemplateCache} to avoid parsing it on every grant.
+     *
+     * @param playerUuid The uuid of the player who won the reward.
+     * @param crate The case the reward was won from.
+     * @param caseReward The reward whose command should be executed.
+     */
+    void grantCommand(UUID playerUuid, Case crate, CaseReward caseReward);
+
+    /**
+     * Grants the permission of a {@link org.tommy.caseapi.models.CaseRewardType#PERMISSION} reward.
+     *
+     * @param playerUuid The uuid of the player receiving the permission.
+     * @param permission The permission to grant.
+     * @param duration The duration the permission is valid for, or {@code null} if it does not expire.
+     */
+    void grantPermission(UUID playerUuid, String permission, Duration duration);
+
+    /**
+     * Called when one of the grant methods threw an exception. Parts of a merged money and gems grant
+     * that already succeeded are not granted again and are not included in the failed grant. Does nothing by default.
+     *
+     * @param grant The grant that failed, with the money, gems or reward that was not granted.
+     * @param cause The exception thrown by the grant method.
+     * @param willRetry {@code true} if the grant stays queued for a later drain,
+     *                  {@code false} if it was given up and has to be handled by the caller, e.g. by logging or compensating it.
+     */
+    default void onGrantFailed(FailedRewardGrant grant, Throwable cause, boolean willRetry) {
+    }
+}
\ No newline at end of file
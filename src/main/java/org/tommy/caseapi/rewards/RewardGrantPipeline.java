@@ -0,0 +1,229 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.rewards;
+
+import org.tommy.caseapi.models.Case;
+import org.tommy.caseapi.models.CaseReward;
+import org.tommy.caseapi.models.CaseRewardType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Stages reward grants and hands them to a {@link RewardGrantHandler} in batches.
+ * Grants can be submitted from any thread. They are executed when {@link #drain()} is called,
+ * which is meant to happen once per server tick and stops as soon as the tick budget is used up.
+ * Money and gems rewards for the same player are merged while they wait in the queue,
+ * so a bulk open results in a single economy call per player and currency.
+ * Grants whose handler call throws are retried on the following drains and given up after three attempts,
+ * see {@link RewardGrantHandler#onGrantFailed(FailedRewardGrant, Throwable, boolean)}.
+ */
+public class RewardGrantPipeline {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final RewardGrantHandler handler;
+    private final long tickBudgetNanos;
+    private final Queue<PendingGrant> queue = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, PendingCurrency> pendingCurrencies = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code RewardGrantPipeline}.
+     *
+     * @param handler The handler that performs the actual grants.
+     * @param tickBudget The maximum time a single {@link #drain()} call may spend granting rewards.
+     */
+    public RewardGrantPipeline(RewardGrantHandler handler, Duration tickBudget) {
+        if (tickBudget.isNegative() || tickBudget.isZero()) {
+            throw new IllegalArgumentException("The tick budget must be positive");
+        }
+        this.handler = handler;
+        this.tickBudgetNanos = tickBudget.toNanos();
+    }
+
+    /**
+     * Queues the grant of a reward won by a player.
+     * {@link org.tommy.caseapi.models.CaseRewardType#ITEM} rewards are not handled by the pipeline,
+     * as they have to be given to the player directly.
+     *
+     * @param playerUuid The uuid of the player who won the reward.
+     * @param crate The case the reward was won from.
+     * @param caseReward The reward to grant.
+     * @throws IllegalArgumentException If the reward is an item reward.
+     */
+    public void submit(UUID playerUuid, Case crate, CaseReward caseReward) {
+        switch (caseReward.getType()) {
+            case MONEY -> {
+                Double amount = caseReward.getMoneyAmount();
+                if (amount != null) mergeCurrency(playerUuid, amount, 0);
+            }
+            case GEMS -> {
+                Integer amount = caseReward.getGemsAmount();
+                if (amount != null) mergeCurrency(playerUuid, 0, amount);
+            }
+            case COMMAND, PERMISSION -> queue.add(new RewardGrant(playerUuid, crate, caseReward));
+            default -> throw new IllegalArgumentException("Rewards of type " + caseReward.getType() + " cannot be queued");
+        }
+    }
+
+    /**
+     * Grants queued rewards until the queue is empty or the tick budget is used up.
+     * At least one grant is performed per call if the queue is not empty, so the pipeline always makes progress.
+     * Grants that do not fit into the budget stay queued for the next call.
+     * Failed grants are queued again after this call, so they are not retried within the same tick.
+     *
+     * @return The number of grants that were completed by the handler.
+     */
+    public int drain() {
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        int granted = 0;
+        List<PendingGrant> failed = new ArrayList<>(0);
+        PendingGrant grant;
+        while ((grant = queue.poll()) != null) {
+            try {
+                grant.grant();
+                granted++;
+            } catch (RuntimeException e) {
+                boolean willRetry = ++grant.attempts < MAX_ATTEMPTS;
+                if (willRetry) failed.add(grant);
+                reportFailure(grant.describeFailure(), e, willRetry);
+            }
+            if (System.nanoTime() - deadline >= 0) break;
+        }
+        queue.addAll(failed);
+        return granted;
+    }
+
+    /**
+     * Returns the number of grants currently waiting in the queue.
+     * Merged money and gems rewards of a player count as a single grant.
+     *
+     * @return The number of pending grants.
+     */
+    public int getPendingGrants() {
+        return queue.size();
+    }
+
+    private void mergeCurrency(UUID playerUuid, double money, int gems) {
+        pendingCurrencies.compute(playerUuid, (uuid, pending) -> {
+            if (pending == null) {
+                pending = new PendingCurrency();
+                queue.add(new CurrencyGrant(uuid));
+            }
+            pending.money += money;
+            pending.gems += gems;
+            return pending;
+        });
+    }
+
+    private void reportFailure(FailedRewardGrant grant, RuntimeException cause, boolean willRetry) {
+        try {
+            handler.onGrantFailed(grant, cause, willRetry);
+        } catch (RuntimeException ignored) {
+            // A failing report must not stop the remaining grants of this tick
+        }
+    }
+
+    private abstract static class PendingGrant {
+
+        final UUID playerUuid;
+        int attempts;
+
+        PendingGrant(UUID playerUuid) {
+            this.playerUuid = playerUuid;
+        }
+
+        /**
+         * Performs the grant. If it throws, parts that already succeeded must not be granted again on the next call.
+         */
+        abstract void grant();
+
+        /**
+         * Describes what is left to grant after a failed call.
+         */
+        abstract FailedRewardGrant describeFailure();
+    }
+
+    private static final class PendingCurrency {
+        private double money;
+        private int gems;
+    }
+
+    private final class CurrencyGrant extends PendingGrant {
+
+        private PendingCurrency taken;
+
+        private CurrencyGrant(UUID playerUuid) {
+            super(playerUuid);
+        }
+
+        @Override
+        void grant() {
+            if (taken == null) {
+                // Removing the entry closes the merge window, later submissions queue a new grant.
+                taken = pendingCurrencies.remove(playerUuid);
+                if (taken == null) return;
+            }
+            if (taken.money != 0) {
+                handler.grantMoney(playerUuid, taken.money);
+                taken.money = 0;
+            }
+            if (taken.gems != 0) {
+                handler.grantGems(playerUuid, taken.gems);
+                taken.gems = 0;
+            }
+        }
+
+        @Override
+        FailedRewardGrant describeFailure() {
+            return new FailedRewardGrant(playerUuid, taken.money, taken.gems, null, null, attempts);
+        }
+    }
+
+    private final class RewardGrant extends PendingGrant {
+
+        private final Case crate;
+        private final CaseReward caseReward;
+
+        private RewardGrant(UUID playerUuid, Case crate, CaseReward caseReward) {
+            super(playerUuid);
+            this.crate = crate;
+            this.caseReward = caseReward;
+        }
+
+        @Override
+        void grant() {
+            if (caseReward.getType() == CaseRewardType.COMMAND) {
+                handler.grantCommand(playerUuid, crate, caseReward);
+            } else {
+                handler.grantPermission(playerUuid, caseReward.getPermission(), caseReward.getPermissionDuration());
+            }
+        }
+
+        @Override
+        FailedRewardGrant describeFailure() {
+            return new FailedRewardGrant(playerUuid, 0, 0, crate, caseReward, attempts);
+        }
+    }
+}
\ No newline at end of file
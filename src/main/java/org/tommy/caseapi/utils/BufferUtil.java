@@ -0,0 +1,210 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Utility class for reading and writing compact primitive encodings from and to a {@link ByteBuffer}.
+ * Integers are written as unsigned LEB128 variable length values, strings as a length prefixed UTF-8 sequence.
+ */
+public class BufferUtil {
+
+    /**
+     * Writes an int as a variable length value of one to five bytes.
+     * Small non-negative values use the fewest bytes.
+     *
+     * @param buffer The buffer to write to.
+     * @param value The value to write.
+     */
+    public static void writeVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads an int written by {@link #writeVarInt(ByteBuffer, int)}.
+     *
+     * @param buffer The buffer to read from.
+     * @return The value that was read.
+     * @throws IllegalArgumentException If the value is longer than five bytes.
+     */
+    public static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("VarInt is too long");
+    }
+
+    /**
+     * Writes a long as a variable length value of one to ten bytes.
+     * Small non-negative values use the fewest bytes.
+     *
+     * @param buffer The buffer to write to.
+     * @param value The value to write.
+     */
+    public static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads a long written by {@link #writeVarLong(ByteBuffer, long)}.
+     *
+     * @param buffer The buffer to read from.
+     * @return The value that was read.
+     * @throws IllegalArgumentException If the value is longer than ten bytes.
+     */
+    public static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("VarLong is too long");
+    }
+
+    /**
+     * Writes a {@link UUID} as two fixed size longs.
+     *
+     * @param buffer The buffer to write to.
+     * @param uuid The uuid to write.
+     */
+    public static void writeUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Reads a {@link UUID} written by {@link #writeUuid(ByteBuffer, UUID)}.
+     *
+     * @param buffer The buffer to read from.
+     * @return The uuid that was read.
+     */
+    public static UUID readUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Writes a nullable string as its UTF-8 length followed by the UTF-8 bytes.
+     * The characters are encoded directly into the buffer without creating an intermediate byte array.
+     * Unpaired surrogates are written as {@code '?'}, like {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @param buffer The buffer to write to.
+     * @param s The string to write, may be {@code null}.
+     */
+    public static void writeString(ByteBuffer buffer, String s) {
+        if (s == null) {
+            writeVarInt(buffer, 0);
+            return;
+        }
+        writeVarInt(buffer, utf8Length(s) + 1);
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                int codePoint = i + 1 < length ? surrogatePair(c, s.charAt(i + 1)) : -1;
+                if (codePoint < 0) {
+                    buffer.put((byte) '?');
+                    continue;
+                }
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                i++;
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Reads a nullable string written by {@link #writeString(ByteBuffer, String)}.
+     *
+     * @param buffer The buffer to read from.
+     * @return The string that was read, or {@code null} if a {@code null} string was written.
+     */
+    public static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer) - 1;
+        if (length < 0) return null;
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("String length " + length + " exceeds the remaining " + buffer.remaining() + " bytes");
+        }
+        String s;
+        if (buffer.hasArray()) {
+            s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return s;
+    }
+
+    /**
+     * Calculates the number of bytes the UTF-8 encoding of a string takes.
+     *
+     * @param s The string to measure.
+     * @return The UTF-8 length in bytes.
+     */
+    public static int utf8Length(String s) {
+        int length = s.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isSurrogate(c)) {
+                if (i + 1 < length && surrogatePair(c, s.charAt(i + 1)) >= 0) {
+                    bytes += 2;
+                    i++;
+                }
+            } else {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    private static int surrogatePair(char high, char low) {
+        if (!Character.isHighSurrogate(high) || !Character.isLowSurrogate(low)) return -1;
+        return Character.toCodePoint(high, low);
+    }
+}
\ No newline at end of file
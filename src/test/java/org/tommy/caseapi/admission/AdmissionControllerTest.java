@@ -0,0 +1,99 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    @Test
+    void startsQueuedSynchronousOperationsWithoutNesting() {
+        AdmissionController admissionController = new AdmissionController(1, 1, 1, 1024, Duration.ofMillis(200));
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        admissionController.submit(() -> gate);
+        List<CompletableFuture<Void>> queued = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) queued.add(admissionController.submit(() -> CompletableFuture.completedFuture(null)));
+
+        gate.complete(null);
+
+        for (CompletableFuture<Void> future : queued) {
+            assertTrue(future.isDone());
+            assertFalse(future.isCompletedExceptionally());
+        }
+        assertEquals(0, admissionController.getInFlight());
+        assertEquals(0, admissionController.getQueued());
+        assertEquals(0, admissionController.getRejected());
+    }
+
+    @Test
+    void rejectsOperationsBeyondTheQueue() {
+        AdmissionController admissionController = new AdmissionController(1, 1, 1, 1, Duration.ofSeconds(10));
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        admissionController.submit(() -> gate);
+        CompletableFuture<Void> queued = admissionController.submit(() -> CompletableFuture.completedFuture(null));
+        CompletableFuture<Void> rejected = admissionController.submit(() -> CompletableFuture.completedFuture(null));
+
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(AdmissionRejectedException.class, exception.getCause());
+        assertEquals(1, admissionController.getRejected());
+
+        gate.complete(null);
+        assertDoesNotThrow(queued::join);
+        assertEquals(0, admissionController.getInFlight());
+    }
+
+    @Test
+    void rejectsOperationsThatWaitTooLong() {
+        AdmissionController admissionController = new AdmissionController(1, 1, 1, 8, Duration.ofMillis(20));
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        admissionController.submit(() -> gate);
+        CompletableFuture<Void> queued = admissionController.submit(() -> CompletableFuture.completedFuture(null));
+
+        CompletionException exception = assertThrows(CompletionException.class, queued::join);
+        assertInstanceOf(AdmissionRejectedException.class, exception.getCause());
+        gate.complete(null);
+        assertEquals(0, admissionController.getInFlight());
+    }
+
+    @Test
+    void releasesTheSlotIfTheOperationThrows() {
+        AdmissionController admissionController = new AdmissionController(1, 1, 1, 0, Duration.ZERO);
+        CompletableFuture<Void> failed = admissionController.submit(() -> {
+            throw new IllegalStateException("failed to start");
+        });
+
+        CompletionException exception = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals(0, admissionController.getInFlight());
+        assertDoesNotThrow(admissionController.submit(() -> CompletableFuture.completedFuture(null))::join);
+    }
+
+    @Test
+    void validatesTheMaximumQueueWait() {
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController(1, 1, 1, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController(1, 1, 1, 1, Duration.ofMillis(-1)));
+    }
+}
\ No newline at end of file
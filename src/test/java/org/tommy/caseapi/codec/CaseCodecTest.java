@@ -0,0 +1,151 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.codec;
+
+import org.junit.jupiter.api.Test;
+import org.tommy.caseapi.events.CaseOpenCompleteEvent;
+import org.tommy.caseapi.events.CaseOpenEvent;
+import org.tommy.caseapi.events.CaseOpenFailureReason;
+import org.tommy.caseapi.events.CaseRewardAnnounceEvent;
+import org.tommy.caseapi.events.FailedCaseOpenEvent;
+import org.tommy.caseapi.models.Case;
+import org.tommy.caseapi.models.CaseReward;
+import org.tommy.caseapi.models.CaseRewardType;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaseCodecTest {
+
+    private static final Case CRATE = new DecodedCase("legendary", "Legendary Case", "aXRlbQ==", 1000, true, "cases.legendary");
+
+    @Test
+    void roundTripsCases() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        CaseCodec.writeCase(buffer, CRATE);
+        Case decoded = CaseCodec.readCase(buffer.flip());
+
+        assertEquals(CRATE.getCaseId(), decoded.getCaseId());
+        assertEquals(CRATE.getDisplayName(), decoded.getDisplayName());
+        assertEquals(CRATE.getItemStackBase64(), decoded.getItemStackBase64());
+        assertEquals(CRATE.getPrice(), decoded.getPrice());
+        assertEquals(CRATE.isWithGlowing(), decoded.isWithGlowing());
+        assertEquals(CRATE.getPermission(), decoded.getPermission());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void roundTripsRewardsOfEveryType() {
+        for (CaseRewardType type : CaseRewardType.values()) {
+            CaseReward caseReward = new DecodedCaseReward(type, 12.5, null, true, 3, true, true, 10, 7,
+                    5, 250.0, "give %player% diamond 1", "vip.legendary", Duration.ofDays(7).plusNanos(1));
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            CaseCodec.writeCaseReward(buffer, caseReward);
+            CaseReward decoded = CaseCodec.readCaseReward(buffer.flip());
+
+            assertEquals(type, decoded.getType());
+            assertEquals(12.5, decoded.getChance());
+            assertNull(decoded.getItemStackBase64());
+            assertTrue(decoded.isWithBroadcastMessage());
+            assertEquals(3, decoded.getIndex());
+            assertTrue(decoded.isLimited());
+            assertEquals(10, decoded.getMaxDraws());
+            assertEquals(7, decoded.getRemainingDraws());
+            assertEquals(5, decoded.getGemsAmount());
+            assertEquals(250.0, decoded.getMoneyAmount());
+            assertEquals("give %player% diamond 1", decoded.getCommand());
+            assertEquals("vip.legendary", decoded.getPermission());
+            assertEquals(Duration.ofDays(7).plusNanos(1), decoded.getPermissionDuration());
+        }
+    }
+
+    @Test
+    void keepsTheWireCodesOfRewardTypes() {
+        CaseRewardType[] types = {CaseRewardType.ITEM, CaseRewardType.GEMS, CaseRewardType.MONEY,
+                CaseRewardType.COMMAND, CaseRewardType.PERMISSION};
+        for (int code = 0; code < types.length; code++) {
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            CaseCodec.writeCaseReward(buffer, new DecodedCaseReward(types[code], 1, null, false, 0, false, true, 0, 0,
+                    null, null, null, null, null));
+            assertEquals(code, buffer.get(2));
+        }
+    }
+
+    @Test
+    void roundTripsEvents() {
+        UUID playerUuid = UUID.randomUUID();
+        CaseReward caseReward = new DecodedCaseReward(CaseRewardType.GEMS, 1, null, false, 0, false, true, 0, 0,
+                100, null, null, null, null);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        CaseOpenEvent openEvent = new CaseOpenEvent(playerUuid, CRATE);
+        openEvent.setCancelled(true);
+        CaseCodec.writeCaseOpenEvent(buffer, openEvent);
+        CaseCodec.writeCaseOpenCompleteEvent(buffer, new CaseOpenCompleteEvent(playerUuid, CRATE, caseReward));
+        CaseCodec.writeFailedCaseOpenEvent(buffer, new FailedCaseOpenEvent(playerUuid, null, CaseOpenFailureReason.OVERLOADED));
+        CaseCodec.writeCaseRewardAnnounceEvent(buffer, new CaseRewardAnnounceEvent(playerUuid, CRATE, caseReward, "Won!"));
+        buffer.flip();
+
+        CaseOpenEvent decodedOpen = assertInstanceOf(CaseOpenEvent.class, CaseCodec.read(buffer));
+        assertEquals(playerUuid, decodedOpen.getPlayerUuid());
+        assertTrue(decodedOpen.isCancelled());
+        CaseOpenCompleteEvent decodedComplete = assertInstanceOf(CaseOpenCompleteEvent.class, CaseCodec.read(buffer));
+        assertEquals(100, decodedComplete.getCaseReward().getGemsAmount());
+        assertEquals("legendary", decodedComplete.getCase().getCaseId());
+        FailedCaseOpenEvent decodedFailed = assertInstanceOf(FailedCaseOpenEvent.class, CaseCodec.read(buffer));
+        assertNull(decodedFailed.getCase());
+        assertEquals(CaseOpenFailureReason.OVERLOADED, decodedFailed.getReason());
+        CaseRewardAnnounceEvent decodedAnnounce = assertInstanceOf(CaseRewardAnnounceEvent.class, CaseCodec.read(buffer));
+        assertEquals("Won!", decodedAnnounce.getAnnounceMessage());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void writesVersionOneForUnchangedMessageTypes() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        CaseCodec.writeCase(buffer, CRATE);
+        assertEquals(1, buffer.get(0));
+
+        buffer.clear();
+        CaseCodec.writeFailedCaseOpenEvent(buffer, new FailedCaseOpenEvent(UUID.randomUUID(), null, CaseOpenFailureReason.VETOED));
+        assertEquals(CaseCodec.FAILED_CASE_OPEN_EVENT_VERSION, buffer.get(0));
+    }
+
+    @Test
+    void readsVersionOneFailureEventsWithUnknownReason() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        CaseCodec.writeFailedCaseOpenEvent(buffer, new FailedCaseOpenEvent(UUID.randomUUID(), null, CaseOpenFailureReason.VETOED));
+        // A version 1 message is the same without the trailing reason byte
+        buffer.flip().limit(buffer.limit() - 1);
+        buffer.put(0, (byte) 1);
+
+        assertEquals(CaseOpenFailureReason.UNKNOWN, CaseCodec.readFailedCaseOpenEvent(buffer).getReason());
+    }
+
+    @Test
+    void rejectsUnsupportedVersions() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        CaseCodec.writeCase(buffer, CRATE);
+        buffer.flip().put(0, (byte) 2);
+
+        assertThrows(IllegalArgumentException.class, () -> CaseCodec.read(buffer));
+    }
+}
\ No newline at end of file
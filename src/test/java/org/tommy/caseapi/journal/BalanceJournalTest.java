@@ -0,0 +1,130 @@
+/*
+ * CaseAPI, a Minecraft plugin API by Cubexa Studio
+ * Copyright (C) 2025 Cubexa Studio <https://cubexa.net>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.tommy.caseapi.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceJournalTest {
+
+    private static final UUID PLAYER = UUID.randomUUID();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysTheLogAfterARestart() throws IOException {
+        try (BalanceJournal journal = new BalanceJournal(directory, true, 0)) {
+            journal.setJewelry(PLAYER, 50);
+            journal.removeJewelry(PLAYER, 20);
+            journal.addCases(PLAYER, "common", 3);
+            journal.removeCases(PLAYER, "common", 1);
+            journal.recordCaseOpened(PLAYER);
+        }
+
+        try (BalanceJournal journal = new BalanceJournal(directory, true, 0)) {
+            assertEquals(30, journal.getJewelry(PLAYER));
+            assertEquals(2, journal.getPlayerCases(PLAYER, "common"));
+            assertEquals(1, journal.getTotalCasesOpenedByPlayer(PLAYER));
+            assertEquals(1, journal.getTotalCasesOpened());
+            assertEquals(5, journal.getRecordsSinceSnapshot());
+        }
+    }
+
+    @Test
+    void replaysOnlyTheLogTailAfterASnapshot() throws IOException {
+        try (BalanceJournal journal = new BalanceJournal(directory, true, 4)) {
+            for (int i = 0; i < 10; i++) journal.addJewelry(PLAYER, 2);
+            assertNull(journal.getSnapshotFailure());
+        }
+
+        try (BalanceJournal journal = new BalanceJournal(directory, true, 4)) {
+            assertEquals(20, journal.getJewelry(PLAYER));
+            assertEquals(2, journal.getRecordsSinceSnapshot());
+        }
+    }
+
+    @Test
+    void discardsATornRecordAtTheEndOfTheLog() throws IOException {
+        try (BalanceJournal journal = new BalanceJournal(directory, true, 0)) {
+            journal.addJewelry(PLAYER, 20);
+            journal.addJewelry(PLAYER, 5);
+        }
+        Path log = directory.resolve("balances.wal");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (BalanceJournal journal = new BalanceJournal(directory, true, 0)) {
+            assertEquals(20, journal.getJewelry(PLAYER));
+            journal.addJewelry(PLAYER, 1);
+        }
+        try (BalanceJournal journal = new BalanceJournal(directory, true, 0)) {
+            assertEquals(21, journal.getJewelry(PLAYER));
+        }
+    }
+
+    @Test
+    void rejectsACorruptSnapshot() throws IOException {
+        try (BalanceJournal journal = new BalanceJournal(directory, true, 0)) {
+            journal.addJewelry(PLAYER, 20);
+            journal.snapshot();
+        }
+        Path snapshot = directory.resolve("balances.snapshot");
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), Files.size(snapshot) - 5);
+        }
+
+        assertThrows(IOException.class, () -> new BalanceJournal(directory, true, 0));
+    }
+
+    @Test
+    void saturatesAdditionsAcrossRestarts() throws IOException {
+        try (BalanceJournal journal = new BalanceJournal(directory, false, 0)) {
+            journal.setJewelry(PLAYER, Integer.MAX_VALUE - 1);
+            journal.addJewelry(PLAYER, 5);
+            journal.addCases(PLAYER, "common", Integer.MAX_VALUE);
+            journal.addCases(PLAYER, "common", 1);
+        }
+
+        try (BalanceJournal journal = new BalanceJournal(directory, false, 0)) {
+            assertEquals(Integer.MAX_VALUE, journal.getJewelry(PLAYER));
+            assertEquals(Integer.MAX_VALUE, journal.getPlayerCases(PLAYER, "common"));
+        }
+    }
+
+    @Test
+    void rejectsNegativeAmounts() throws IOException {
+        try (BalanceJournal journal = new BalanceJournal(directory, false, 0)) {
+            assertThrows(IllegalArgumentException.class, () -> journal.removeJewelry(PLAYER, -10));
+            assertThrows(IllegalArgumentException.class, () -> journal.addCases(PLAYER, "common", -1));
+            assertEquals(0, journal.getJewelry(PLAYER));
+            assertEquals(0, journal.getRecordsSinceSnapshot());
+        }
+    }
+}
\ No newline at end of file